@@ -1,100 +1,61 @@
 package com.github.daishe.androidgametutorial;
 
+// Lightweight view of a single asteroid stored in the AsteroidField
 public class Asteroid {
 
-    private GameWorld world;
+    private AsteroidField field;
+    private int index;
 
     private MutableVector2D position = Vector2D.fromNothing();
     private MutableVector2D velocity = Vector2D.fromNothing();
-    private float angularVelocity;
-    private float angularPosition;
 
-    private Image asteroidImage;
-
-    private boolean alive = false;
-
-    public Asteroid() {
+    public Asteroid(AsteroidField field, int index) {
+        this.field = field;
+        this.index = index;
     }
 
     public Asteroid create(GameWorld world, Vector2D inWorldPosition) {
-        GameFacade gameFacade = world.facade();
-        Configuration configuration = gameFacade.configuration();
-
-        this.world = world;
-
-        this.velocity.setToPolar(
-                configuration.asteroidMaxVelocity - Math.abs(gameFacade.random().gaussian(3) * configuration.asteroidMaxVelocity / 3),
-                world.cameraPosition().sub(inWorldPosition).theta() + gameFacade.random().gaussian() * (float)Math.PI / 3
-            );
-        this.position.setTo(inWorldPosition);
-        this.angularVelocity = gameFacade.random().gaussian(8) * (float)Math.PI / 2;
-        this.angularPosition = gameFacade.random().angle();
-
-        this.asteroidImage = gameFacade.imageManager().randomAsteroid();
-
-        this.alive = true;
-
+        this.field.create(this.index, inWorldPosition.x(), inWorldPosition.y());
         return this;
     }
 
-    public GameWorld world() {
-        return this.world;
+    public int index() {
+        return this.index;
     }
 
-    public GameWorld world(GameWorld world) {
-        return this.world = world;
+    public GameWorld world() {
+        return this.field.world();
     }
 
-    public boolean alive() { return this.alive; }
+    public boolean alive() { return this.field.alive(this.index); }
 
-    public boolean alive(boolean alive) { return this.alive = alive; }
+    public boolean alive(boolean alive) { return this.field.alive(this.index, alive); }
 
+    // Returned vectors are reused by the view, copy them to keep the value
     public Vector2D position() {
-        return this.position;
+        return this.position.setToCartesian(this.field.x(this.index), this.field.y(this.index));
     }
 
     public Vector2D position(Vector2D position) {
-        return this.position.setTo(position);
+        this.field.position(this.index, position.x(), position.y());
+        return this.position();
     }
 
     public Vector2D velocity() {
-        return this.velocity;
+        return this.velocity.setToCartesian(this.field.velocityX(this.index), this.field.velocityY(this.index));
     }
 
     public Vector2D velocity(Vector2D velocity) {
-        return this.velocity.setTo(velocity);
+        this.field.velocity(this.index, velocity.x(), velocity.y());
+        return this.velocity();
     }
 
     public float collisionRadius() {
-        return this.asteroidImage.radius();
+        return this.field.radius(this.index);
     }
 
     public void update(float timeShift) {
-        if (!this.alive)
-            return;
-
-        Configuration configuration = this.world.facade().configuration();
-
-        Vector2D relativePosition = Vector2D.from(this.position).subInPlace(this.world.cameraPosition());
-        if (Math.abs(relativePosition.x()) > configuration.killingRange || Math.abs(relativePosition.y()) > configuration.killingRange)
-            this.alive = false;
-
-        this.position.addInPlace(this.velocity.mul(timeShift));
-
-        this.angularPosition += this.angularVelocity * timeShift;
-        this.angularPosition -= ((int)(this.angularPosition / (float)(Math.PI * 2))) * (float)(Math.PI * 2);
-    }
-
-    public void draw(GameCanvas gameCanvas) {
-        if (!this.alive || !gameCanvas.isVisible(this.position, this.asteroidImage.diagonal() / 2))
-            return;
-
-        if (this.world.facade().configuration().drawPhysicsDebugInfo) {
-            gameCanvas.drawDebugVelocity(this.position, this.velocity);
-            gameCanvas.drawDebugCollisionBox(this.position, this.asteroidImage.radius());
-        }
-
-        this.asteroidImage.draw(gameCanvas, this.position, 1f, this.angularPosition, 1f);
+        this.field.update(this.index, timeShift);
     }
 
 }
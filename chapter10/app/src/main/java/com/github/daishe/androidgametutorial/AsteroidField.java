@@ -0,0 +1,269 @@
+package com.github.daishe.androidgametutorial;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+public class AsteroidField {
+
+    private GameWorld world;
+
+    private int count = 0;
+
+    private float[] x;
+    private float[] y;
+    private float[] velocityX;
+    private float[] velocityY;
+    private float[] angularPosition;
+    private float[] angularVelocity;
+    private float[] previousX;
+    private float[] previousY;
+    private float[] previousAngularPosition;
+    private float[] pendingTime;
+    private float[] radius;
+    private boolean[] alive;
+    private Image[] image;
+
+    private Asteroid[] views;
+
+    // Result of the last culling pass, indices of visible asteroids and their interpolated positions
+    private int visibleCount = 0;
+    private int[] visible;
+    private float[] visibleX;
+    private float[] visibleY;
+
+    private MutableVector2D position = Vector2D.fromNothing();
+    private MutableVector2D velocity = Vector2D.fromNothing();
+
+    private long step = 0;
+    private float viewHalfWidth = 0;
+    private float viewHalfHeight = 0;
+
+    public AsteroidField(@NonNull GameWorld world, int capacity) {
+        this.world = world;
+
+        capacity = Math.max(1, capacity);
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.velocityX = new float[capacity];
+        this.velocityY = new float[capacity];
+        this.angularPosition = new float[capacity];
+        this.angularVelocity = new float[capacity];
+        this.previousX = new float[capacity];
+        this.previousY = new float[capacity];
+        this.previousAngularPosition = new float[capacity];
+        this.pendingTime = new float[capacity];
+        this.radius = new float[capacity];
+        this.alive = new boolean[capacity];
+        this.image = new Image[capacity];
+        this.views = new Asteroid[capacity];
+        this.visible = new int[capacity];
+        this.visibleX = new float[capacity];
+        this.visibleY = new float[capacity];
+    }
+
+    public GameWorld world() {
+        return this.world;
+    }
+
+    public int size() {
+        return this.count;
+    }
+
+    public Asteroid get(int index) {
+        return this.views[index];
+    }
+
+    public float x(int index) { return this.x[index]; }
+    public float y(int index) { return this.y[index]; }
+    public float velocityX(int index) { return this.velocityX[index]; }
+    public float velocityY(int index) { return this.velocityY[index]; }
+    public float angularPosition(int index) { return this.angularPosition[index]; }
+    public float angularVelocity(int index) { return this.angularVelocity[index]; }
+    public float radius(int index) { return this.radius[index]; }
+    public boolean alive(int index) { return this.alive[index]; }
+    public Image image(int index) { return this.image[index]; }
+    public float previousX(int index) { return this.previousX[index]; }
+    public float previousY(int index) { return this.previousY[index]; }
+    public float previousAngularPosition(int index) { return this.previousAngularPosition[index]; }
+
+    public boolean alive(int index, boolean alive) { return this.alive[index] = alive; }
+
+    public void position(int index, float x, float y) {
+        this.x[index] = x;
+        this.y[index] = y;
+    }
+
+    public void velocity(int index, float x, float y) {
+        this.velocityX[index] = x;
+        this.velocityY[index] = y;
+    }
+
+    // Returns index of the new, not yet created asteroid
+    public int add() {
+        if (this.count == this.x.length)
+            this.grow(this.count * 2);
+
+        int index = this.count++;
+        this.views[index] = new Asteroid(this, index);
+        this.alive[index] = false;
+        return index;
+    }
+
+    public void create(int index, float inWorldX, float inWorldY) {
+        GameFacade gameFacade = this.world.facade();
+        Configuration configuration = gameFacade.configuration();
+        Random random = gameFacade.random();
+        Vector2D cameraPosition = this.world.cameraPosition();
+
+        float speed = configuration.asteroidMaxVelocity - Math.abs(random.gaussian(3) * configuration.asteroidMaxVelocity / 3);
+        float direction = Vector2D.cartesianToPolarTheta(cameraPosition.x() - inWorldX, cameraPosition.y() - inWorldY)
+                + random.gaussian() * (float)Math.PI / 3;
+
+        this.velocityX[index] = Vector2D.polarToCartesianX(speed, direction);
+        this.velocityY[index] = Vector2D.polarToCartesianY(speed, direction);
+        this.x[index] = inWorldX;
+        this.y[index] = inWorldY;
+        this.angularVelocity[index] = random.gaussian(8) * (float)Math.PI / 2;
+        this.angularPosition[index] = random.angle();
+
+        this.previousX[index] = inWorldX;
+        this.previousY[index] = inWorldY;
+        this.previousAngularPosition[index] = this.angularPosition[index];
+        this.pendingTime[index] = 0;
+
+        this.image[index] = gameFacade.imageManager().randomAsteroid();
+        this.radius[index] = this.image[index].radius();
+
+        this.alive[index] = true;
+    }
+
+    // With a reduced quality, asteroids outside of the view are updated only every few steps, with the time they missed
+    // Kinetic collisions predict contacts from continuous motion, so with them every asteroid moves every step
+    public void update(float timeShift) {
+        GameFacade gameFacade = this.world.facade();
+        int interval = gameFacade.configuration().kineticAsteroidCollisions ? 1 : gameFacade.qualityGovernor().offScreenUpdateInterval();
+        ++this.step;
+
+        for (int i = 0; i < this.count; ++i) {
+            if (interval > 1 && this.alive[i] && (this.step + i) % interval != 0 && !this.onScreen(i)) {
+                this.pendingTime[i] += timeShift;
+                continue;
+            }
+
+            this.update(i, timeShift + this.pendingTime[i]);
+            this.pendingTime[i] = 0;
+        }
+    }
+
+    public void update(int index, float timeShift) {
+        if (!this.alive[index])
+            return;
+
+        float killingRange = this.world.facade().configuration().killingRange;
+        Vector2D cameraPosition = this.world.cameraPosition();
+
+        float relativeX = this.x[index] - cameraPosition.x();
+        float relativeY = this.y[index] - cameraPosition.y();
+        if (Math.abs(relativeX) > killingRange || Math.abs(relativeY) > killingRange)
+            this.alive[index] = false;
+
+        this.previousX[index] = this.x[index];
+        this.previousY[index] = this.y[index];
+        this.previousAngularPosition[index] = this.angularPosition[index];
+
+        this.x[index] += this.velocityX[index] * timeShift;
+        this.y[index] += this.velocityY[index] * timeShift;
+
+        float fullAngle = (float)(Math.PI * 2);
+        float angle = this.angularPosition[index] + this.angularVelocity[index] * timeShift;
+        this.angularPosition[index] = angle - ((int)(angle / fullAngle)) * fullAngle;
+    }
+
+    // Uses the view of the last update
+    public boolean onScreen(int index) {
+        Vector2D cameraPosition = this.world.cameraPosition();
+        float toleration = this.image[index].diagonal() / 2;
+        return Math.abs(this.x[index] - cameraPosition.x()) - toleration <= this.viewHalfWidth
+                && Math.abs(this.y[index] - cameraPosition.y()) - toleration <= this.viewHalfHeight;
+    }
+
+    // One tight pass over the positions against the view rectangle, returns the number of visible asteroids
+    public int cull(GameCanvas gameCanvas) {
+        float left = gameCanvas.viewLeft();
+        float top = gameCanvas.viewTop();
+        float right = gameCanvas.viewRight();
+        float bottom = gameCanvas.viewBottom();
+        float interpolation = gameCanvas.interpolation();
+
+        int alive = 0;
+        int visible = 0;
+        for (int i = 0; i < this.count; ++i) {
+            if (!this.alive[i])
+                continue;
+            ++alive;
+
+            float x = this.previousX[i] + (this.x[i] - this.previousX[i]) * interpolation;
+            float y = this.previousY[i] + (this.y[i] - this.previousY[i]) * interpolation;
+            float toleration = this.image[i].diagonal() / 2;
+            if (x + toleration < left || x - toleration > right || y + toleration < top || y - toleration > bottom)
+                continue;
+
+            this.visible[visible] = i;
+            this.visibleX[visible] = x;
+            this.visibleY[visible] = y;
+            ++visible;
+        }
+
+        this.visibleCount = visible;
+        gameCanvas.countEntities(visible, alive - visible);
+        return visible;
+    }
+
+    // Draws only the asteroids found visible by the last culling pass
+    // All asteroids sharing an image reach the canvas at once, when the canvas commands and sprites are flushed
+    public void draw(GameCanvas gameCanvas) {
+        boolean debug = this.world.facade().configuration().drawPhysicsDebugInfo;
+        for (int v = 0; v < this.visibleCount; ++v) {
+            int i = this.visible[v];
+            this.position.setToCartesian(this.visibleX[v], this.visibleY[v]);
+
+            if (debug) {
+                this.velocity.setToCartesian(this.velocityX[i], this.velocityY[i]);
+                gameCanvas.drawDebugVelocity(this.position, this.velocity);
+                gameCanvas.drawDebugCollisionBox(this.position, this.radius[i]);
+            }
+
+            float rotation = gameCanvas.interpolateAngle(this.previousAngularPosition[i], this.angularPosition[i]);
+            gameCanvas.submitSprite(this.image[i], this.visibleX[v], this.visibleY[v], 1f, rotation, 1f);
+        }
+    }
+
+    // Called once per frame, the view size used to tell off-screen asteroids does not change between steps
+    public void updateView() {
+        Vector2D dimensions = this.world.facade().screen().dimensions();
+        this.viewHalfWidth = dimensions.x() / 2;
+        this.viewHalfHeight = dimensions.y() / 2;
+    }
+
+    private void grow(int capacity) {
+        this.x = Arrays.copyOf(this.x, capacity);
+        this.y = Arrays.copyOf(this.y, capacity);
+        this.velocityX = Arrays.copyOf(this.velocityX, capacity);
+        this.velocityY = Arrays.copyOf(this.velocityY, capacity);
+        this.angularPosition = Arrays.copyOf(this.angularPosition, capacity);
+        this.angularVelocity = Arrays.copyOf(this.angularVelocity, capacity);
+        this.previousX = Arrays.copyOf(this.previousX, capacity);
+        this.previousY = Arrays.copyOf(this.previousY, capacity);
+        this.previousAngularPosition = Arrays.copyOf(this.previousAngularPosition, capacity);
+        this.pendingTime = Arrays.copyOf(this.pendingTime, capacity);
+        this.radius = Arrays.copyOf(this.radius, capacity);
+        this.alive = Arrays.copyOf(this.alive, capacity);
+        this.image = Arrays.copyOf(this.image, capacity);
+        this.views = Arrays.copyOf(this.views, capacity);
+        this.visible = Arrays.copyOf(this.visible, capacity);
+        this.visibleX = Arrays.copyOf(this.visibleX, capacity);
+        this.visibleY = Arrays.copyOf(this.visibleY, capacity);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.github.daishe.androidgametutorial;
+
+public interface BroadPhase {
+
+    enum Type {
+        SPATIAL_HASH_GRID,
+        SWEEP_AND_PRUNE
+    }
+
+    // Largest radius is an upper bound for the collision radius of every object tested against this broad-phase
+    void update(AsteroidField asteroids, float largestRadius);
+
+    // Collects pairs (lower asteroid index, higher asteroid index) that may be in collision
+    void collectPairs(CollisionPairs out);
+
+    // Same as above, limited to pairs which lower index is in the given range; safe to call concurrently after update
+    void collectPairs(int fromIndex, int toIndex, CollisionPairs out);
+
+    // Collects pairs (asteroid index, other id) of asteroids that may be in collision with the given object
+    void collectPairs(int otherId, float x, float y, float radius, CollisionPairs out);
+
+}
@@ -0,0 +1,65 @@
+package com.github.daishe.androidgametutorial;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+// Aligns frames with display vsync, callbacks are received on the main thread and handed over to the waiting thread
+// Vsync time points come from System.nanoTime, so this pacer always uses the monotonic clock
+public class ChoreographerFramePacer extends DeadlineFramePacer implements Choreographer.FrameCallback {
+
+    private final Object lock = new Object();
+
+    private Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private boolean active = false;
+    private boolean posted = false;
+    private long lastVsyncTimePoint = 0;
+
+    public ChoreographerFramePacer() {
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        synchronized (this.lock) {
+            this.lastVsyncTimePoint = frameTimeNanos;
+            this.lock.notifyAll();
+
+            if (this.active)
+                Choreographer.getInstance().postFrameCallback(this);
+            else
+                this.posted = false;
+        }
+    }
+
+    // The first vsync not earlier than half a frame before the deadline starts the frame, and the deadline series snaps to it
+    @Override
+    protected long waitUntil(long deadline, long frameDuration) throws InterruptedException {
+        synchronized (this.lock) {
+            this.active = true;
+            if (!this.posted) {
+                this.posted = true;
+                this.mainHandler.post(() -> Choreographer.getInstance().postFrameCallback(this));
+            }
+
+            long target = deadline - frameDuration / 2;
+            while (this.lastVsyncTimePoint < target) {
+                // No vsync arrives while the display is off, fall back to the deadline plus one frame
+                long timeout = deadline + frameDuration - this.now();
+                if (timeout <= 0)
+                    return this.now();
+                this.lock.wait(timeout / 1000000, (int)(timeout % 1000000));
+            }
+            return this.lastVsyncTimePoint;
+        }
+    }
+
+    // The callback already posted still runs once, then it is not reposted
+    @Override
+    public void release() {
+        synchronized (this.lock) {
+            this.active = false;
+        }
+    }
+
+}
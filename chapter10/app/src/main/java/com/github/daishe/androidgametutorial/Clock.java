@@ -0,0 +1,8 @@
+package com.github.daishe.androidgametutorial;
+
+// Source of monotonic time points, in nanoseconds
+public interface Clock {
+
+    long now();
+
+}
@@ -23,4 +23,44 @@ public class Collision {
         return positionDifference.mulInPlace(objectBRadius / radiusSum).addInPlace(objectBPosition);
     }
 
+    public static boolean test(float objectAX, float objectAY, float objectARadius, float objectBX, float objectBY, float objectBRadius) {
+        float xDelta = objectAX - objectBX;
+        float yDelta = objectAY - objectBY;
+        float radiusSum = objectARadius + objectBRadius;
+
+        boolean isXNear = xDelta > -radiusSum && xDelta < radiusSum;
+        boolean isYNear = yDelta > -radiusSum && yDelta < radiusSum;
+        boolean isNear = isXNear && isYNear;
+
+        if (!isNear)
+            return false;
+
+        return Vector2D.cartesianToPolarRadiusSquare(xDelta, yDelta) < radiusSum * radiusSum;
+    }
+
+    public static boolean test(float objectAX, float objectAY, float objectARadius, float objectBX, float objectBY, float objectBRadius, ContactBuffer contacts, int kind) {
+        if (!Collision.test(objectAX, objectAY, objectARadius, objectBX, objectBY, objectBRadius))
+            return false;
+
+        float xDelta = objectAX - objectBX;
+        float yDelta = objectAY - objectBY;
+        float radiusSum = objectARadius + objectBRadius;
+        float ratio = objectBRadius / radiusSum;
+        contacts.add(xDelta * ratio + objectBX, yDelta * ratio + objectBY, kind);
+        return true;
+    }
+
+    public static boolean test(Vector2D objectAPosition, float objectARadius, Vector2D objectBPosition, float objectBRadius, ContactBuffer contacts, int kind) {
+        return Collision.test(
+                objectAPosition.x(),
+                objectAPosition.y(),
+                objectARadius,
+                objectBPosition.x(),
+                objectBPosition.y(),
+                objectBRadius,
+                contacts,
+                kind
+            );
+    }
+
 }
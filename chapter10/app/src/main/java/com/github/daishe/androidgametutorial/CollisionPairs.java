@@ -0,0 +1,51 @@
+package com.github.daishe.androidgametutorial;
+
+import java.util.Arrays;
+
+public class CollisionPairs {
+
+    private long[] pairs;
+    private int count = 0;
+
+    public CollisionPairs() {
+        this(64);
+    }
+
+    public CollisionPairs(int initialCapacity) {
+        this.pairs = new long[Math.max(1, initialCapacity)];
+    }
+
+    public int size() {
+        return this.count;
+    }
+
+    public int first(int index) {
+        return (int)(this.pairs[index] >>> 32);
+    }
+
+    public int second(int index) {
+        return (int)this.pairs[index];
+    }
+
+    public void add(int first, int second) {
+        if (this.count == this.pairs.length)
+            this.pairs = Arrays.copyOf(this.pairs, this.pairs.length * 2);
+        this.pairs[this.count++] = ((long)first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    public void clear() {
+        this.count = 0;
+    }
+
+    // Orders pairs the same way the nested brute force loops visit them (by first, then by second index)
+    public void sort() {
+        Arrays.sort(this.pairs, 0, this.count);
+
+        int unique = 0;
+        for (int i = 0; i < this.count; ++i)
+            if (unique == 0 || this.pairs[unique - 1] != this.pairs[i])
+                this.pairs[unique++] = this.pairs[i];
+        this.count = unique;
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.github.daishe.androidgametutorial;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public final class CollisionWorkers implements GameFacadeComponent {
+
+    private GameFacade gameFacade;
+
+    private int threads = 0;
+    private ExecutorService executor = null;
+    private ArrayList<AsteroidRangeTask> tasks = new ArrayList<AsteroidRangeTask>();
+
+    public CollisionWorkers(@NonNull GameFacade gameFacade) {
+        this.gameFacade = gameFacade;
+    }
+
+    public int threads() {
+        return this.threads;
+    }
+
+    public boolean started() {
+        return this.executor != null;
+    }
+
+    // Serial collision passes are cheaper for small scenes than handing the work off to other threads
+    public boolean worthUsing(int entities) {
+        long threshold = this.gameFacade.configuration().parallelCollisionThreshold;
+        return this.threads > 1 && threshold > 0 && entities >= threshold;
+    }
+
+    // Every worker queries the broad-phase and runs the narrow phase for its own range of asteroid indices. Results
+    // are merged in range order and sorted, so the outcome does not depend on the threads scheduling.
+    // Worker threads are started by the first call. Returns false, with nothing added to out, when the calling thread
+    // is interrupted while waiting for the workers, the caller then has to collect the hits by itself.
+    public boolean collectAsteroidHits(@NonNull BroadPhase broadPhase, @NonNull AsteroidField asteroids, @NonNull CollisionPairs out) {
+        if (this.executor == null)
+            this.start();
+
+        int count = asteroids.size();
+        int threads = this.threads;
+        for (int t = 0; t < threads; ++t)
+            this.tasks.get(t).prepare(broadPhase, asteroids, count * t / threads, count * (t + 1) / threads);
+
+        try {
+            for (Future<Void> future : this.executor.invokeAll(this.tasks))
+                future.get();
+        }
+        catch (InterruptedException e) {
+            // Workers may still be writing their hits, so nothing of them is merged
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+
+        for (int t = 0; t < threads; ++t) {
+            CollisionPairs hits = this.tasks.get(t).hits;
+            for (int k = 0; k < hits.size(); ++k)
+                out.add(hits.first(k), hits.second(k));
+        }
+        out.sort();
+        return true;
+    }
+
+    @Override
+    public void create(@NonNull Context context) {
+        this.create();
+    }
+
+    // Only decides the number of workers, their threads are started once a scene is large enough to use them
+    public void create() {
+        int threads = this.gameFacade.configuration().collisionWorkerThreads;
+        this.threads = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void destroy() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+        this.tasks.clear();
+        this.threads = 0;
+    }
+
+    private void start() {
+        this.executor = Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "CollisionWorker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.tasks.clear();
+        for (int t = 0; t < this.threads; ++t)
+            this.tasks.add(new AsteroidRangeTask());
+    }
+
+    private static final class AsteroidRangeTask implements Callable<Void> {
+
+        private BroadPhase broadPhase;
+        private AsteroidField asteroids;
+        private int fromIndex;
+        private int toIndex;
+
+        private CollisionPairs candidates = new CollisionPairs();
+        private CollisionPairs hits = new CollisionPairs();
+
+        void prepare(BroadPhase broadPhase, AsteroidField asteroids, int fromIndex, int toIndex) {
+            this.broadPhase = broadPhase;
+            this.asteroids = asteroids;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public Void call() {
+            this.candidates.clear();
+            this.hits.clear();
+
+            this.broadPhase.collectPairs(this.fromIndex, this.toIndex, this.candidates);
+            for (int k = 0; k < this.candidates.size(); ++k) {
+                int first = this.candidates.first(k);
+                int second = this.candidates.second(k);
+
+                boolean inCollision = Collision.test(
+                        this.asteroids.x(first),
+                        this.asteroids.y(first),
+                        this.asteroids.radius(first),
+                        this.asteroids.x(second),
+                        this.asteroids.y(second),
+                        this.asteroids.radius(second)
+                    );
+
+                if (inCollision)
+                    this.hits.add(first, second);
+            }
+            return null;
+        }
+
+    }
+
+}
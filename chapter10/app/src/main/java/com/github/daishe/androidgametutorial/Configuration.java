@@ -7,6 +7,12 @@ public final class Configuration implements GameFacadeComponent {
 
     public long framesPerSecond = 30;
     public boolean unboundFrameRate = false;
+    public FramePacer.Type framePacer = FramePacer.Type.PARK_SPIN;
+
+    public long simulationStepsPerSecond = 30;
+    public int maxSimulationStepsPerFrame = 5;
+    public boolean interpolateRendering = true;
+    public boolean pipelinedRendering = false;
 
     public float deviceRotationLimit = (float)Math.PI / 8;
 
@@ -25,14 +31,38 @@ public final class Configuration implements GameFacadeComponent {
     public float playerShipTrailOffset = 50f;
     public float playerShipTrailScaleFactor = 0.5f;
     public float playerShipTrailAlphaFactor = 0.25f;
+    public int playerShipTrailCapacity = 64;
+    public float playerShipTrailSampleInterval = 0.03f;
 
     public float rocketMaxVelocity = 300f;
     public float rocketMaxAcceleration = 500f;
     public float rocketFireTimeout = 2f;
+    public int rocketsLimit = 16;
 
     public long asteroidsLimit = 100;
     public float asteroidMaxVelocity = 80f;
 
+    public BroadPhase.Type collisionBroadPhase = BroadPhase.Type.SPATIAL_HASH_GRID;
+    public boolean kineticAsteroidCollisions = false;
+    public long parallelCollisionThreshold = 500;
+    public int collisionWorkerThreads = 0;
+
+    public boolean adaptiveQuality = true;
+    public float qualityEvaluationInterval = 1f;
+    public float qualityStepDownLoad = 0.9f;
+    public float qualityStepUpLoad = 0.5f;
+    public int qualityStepDownEvaluations = 2;
+    public int qualityStepUpEvaluations = 5;
+
+    public boolean recordRenderCommands = true;
+    public boolean batchSprites = true;
+    public int asteroidRotationFrames = 32;
+    public boolean textureAtlas = true;
+
+    public boolean frameWatchdog = true;
+    public float frameWatchdogBudgetMultiple = 3f;
+    public int frameWatchdogLogSize = 32;
+
     public boolean drawFramesPerSecond = true;
     public float framesPerSecondCalcInterval = 0.1f;
     public boolean drawPhysicsDebugInfo = true;
@@ -0,0 +1,57 @@
+package com.github.daishe.androidgametutorial;
+
+import java.util.Arrays;
+
+public class ContactBuffer {
+
+    private float[] x;
+    private float[] y;
+    private int[] kind;
+    private int count = 0;
+
+    public ContactBuffer() {
+        this(32);
+    }
+
+    public ContactBuffer(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.kind = new int[capacity];
+    }
+
+    public int size() {
+        return this.count;
+    }
+
+    public float x(int index) {
+        return this.x[index];
+    }
+
+    public float y(int index) {
+        return this.y[index];
+    }
+
+    public int kind(int index) {
+        return this.kind[index];
+    }
+
+    public void add(float x, float y, int kind) {
+        if (this.count == this.x.length) {
+            int capacity = this.x.length * 2;
+            this.x = Arrays.copyOf(this.x, capacity);
+            this.y = Arrays.copyOf(this.y, capacity);
+            this.kind = Arrays.copyOf(this.kind, capacity);
+        }
+
+        this.x[this.count] = x;
+        this.y[this.count] = y;
+        this.kind[this.count] = kind;
+        ++this.count;
+    }
+
+    public void clear() {
+        this.count = 0;
+    }
+
+}
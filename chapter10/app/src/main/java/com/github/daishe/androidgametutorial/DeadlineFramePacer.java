@@ -0,0 +1,58 @@
+package com.github.daishe.androidgametutorial;
+
+// Frame deadlines form a series start + k * frameDuration, kept independent of when waiting actually ended
+public abstract class DeadlineFramePacer implements FramePacer {
+
+    private Clock clock;
+
+    private boolean started = false;
+    private long deadline = 0;
+
+    protected DeadlineFramePacer() {
+        this(new MonotonicClock());
+    }
+
+    protected DeadlineFramePacer(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public long now() {
+        return this.clock.now();
+    }
+
+    @Override
+    public void awaitNextFrame(long frameDuration) throws InterruptedException {
+        long now = this.now();
+        if (!this.started) {
+            this.started = true;
+            this.deadline = now;
+        }
+
+        this.deadline += frameDuration;
+
+        // More than a whole frame behind, catching up would only produce a burst of frames
+        if (this.deadline + frameDuration < now)
+            this.deadline = now;
+
+        this.deadline = this.waitUntil(this.deadline, frameDuration);
+    }
+
+    @Override
+    public void reset() {
+        this.started = false;
+    }
+
+    @Override
+    public void release() {
+    }
+
+    @Override
+    public long deadline() {
+        return this.deadline;
+    }
+
+    // Returns the time point counted as the frame start, usually the deadline itself
+    protected abstract long waitUntil(long deadline, long frameDuration) throws InterruptedException;
+
+}
@@ -0,0 +1,111 @@
+package com.github.daishe.androidgametutorial;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+// Accumulates debug line segments per colour, every colour is then drawn with a single drawLines call
+// Circles are approximated with segments of the same batches
+public final class DebugLines {
+
+    private static final int circleSegments = 32;
+    private static final float[] circleCos = new float[DebugLines.circleSegments + 1];
+    private static final float[] circleSin = new float[DebugLines.circleSegments + 1];
+
+    static {
+        for (int i = 0; i <= DebugLines.circleSegments; ++i) {
+            double angle = Math.PI * 2 * i / DebugLines.circleSegments;
+            DebugLines.circleCos[i] = (float)Math.cos(angle);
+            DebugLines.circleSin[i] = (float)Math.sin(angle);
+        }
+    }
+
+    private int colors = 0;
+    private int[] color = new int[8];
+    private int[] size = new int[8];
+    private float[][] points = new float[8][];
+
+    private int lastBatch = -1;
+
+    public DebugLines() {
+    }
+
+    // Number of segments waiting to be drawn
+    public int segments() {
+        int result = 0;
+        for (int b = 0; b < this.colors; ++b)
+            result += this.size[b] / 4;
+        return result;
+    }
+
+    public void line(int color, float x0, float y0, float x1, float y1) {
+        int b = this.batchOf(color);
+        this.reserve(b, 4);
+
+        float[] p = this.points[b];
+        int s = this.size[b];
+        p[s] = x0;
+        p[s + 1] = y0;
+        p[s + 2] = x1;
+        p[s + 3] = y1;
+        this.size[b] = s + 4;
+    }
+
+    public void circle(int color, float x, float y, float radius) {
+        int b = this.batchOf(color);
+        this.reserve(b, DebugLines.circleSegments * 4);
+
+        float[] p = this.points[b];
+        int s = this.size[b];
+        for (int i = 0; i < DebugLines.circleSegments; ++i) {
+            p[s++] = x + DebugLines.circleCos[i] * radius;
+            p[s++] = y + DebugLines.circleSin[i] * radius;
+            p[s++] = x + DebugLines.circleCos[i + 1] * radius;
+            p[s++] = y + DebugLines.circleSin[i + 1] * radius;
+        }
+        this.size[b] = s;
+    }
+
+    // Colours keep their batches between frames, so a steady frame does not allocate
+    public void flush(@NonNull Canvas canvas, @NonNull Paint paint) {
+        for (int b = 0; b < this.colors; ++b) {
+            if (this.size[b] == 0)
+                continue;
+
+            paint.setColor(this.color[b]);
+            canvas.drawLines(this.points[b], 0, this.size[b], paint);
+            this.size[b] = 0;
+        }
+        paint.setColor(0xFF000000);
+    }
+
+    private int batchOf(int color) {
+        if (this.lastBatch >= 0 && this.color[this.lastBatch] == color)
+            return this.lastBatch;
+
+        for (int b = 0; b < this.colors; ++b)
+            if (this.color[b] == color)
+                return this.lastBatch = b;
+
+        if (this.colors == this.color.length) {
+            this.color = Arrays.copyOf(this.color, this.colors * 2);
+            this.size = Arrays.copyOf(this.size, this.colors * 2);
+            this.points = Arrays.copyOf(this.points, this.colors * 2);
+        }
+
+        int b = this.colors++;
+        this.color[b] = color;
+        this.size[b] = 0;
+        this.points[b] = new float[256];
+        return this.lastBatch = b;
+    }
+
+    private void reserve(int batch, int values) {
+        float[] p = this.points[batch];
+        if (this.size[batch] + values > p.length)
+            this.points[batch] = Arrays.copyOf(p, Math.max(p.length * 2, this.size[batch] + values));
+    }
+
+}
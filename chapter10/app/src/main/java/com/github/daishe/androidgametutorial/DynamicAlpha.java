@@ -5,17 +5,28 @@ public class DynamicAlpha {
     private final float phaseTime;
     private float currentTime;
 
+    private final float startAlpha;
+    private final float endAlpha;
+
     private float initialAlpha;
     private float finalAlpha;
     private float currentAlpha;
 
     public DynamicAlpha(float initialAlpha, float finalAlpha, float phaseTime) {
         this.phaseTime = phaseTime;
+
+        this.startAlpha = initialAlpha;
+        this.endAlpha = finalAlpha;
+
+        this.reset();
+    }
+
+    public void reset() {
         this.currentTime = 0;
 
-        this.initialAlpha = initialAlpha;
-        this.finalAlpha = finalAlpha;
-        this.currentAlpha = initialAlpha;
+        this.initialAlpha = this.startAlpha;
+        this.finalAlpha = this.endAlpha;
+        this.currentAlpha = this.startAlpha;
     }
 
     public void update(float timeShift) {
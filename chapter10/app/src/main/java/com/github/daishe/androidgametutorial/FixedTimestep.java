@@ -0,0 +1,66 @@
+package com.github.daishe.androidgametutorial;
+
+// Accumulates frame time and splits it into constant simulation steps
+public class FixedTimestep {
+
+    private long stepDuration = Time.resolution() / 30;
+    private int maxStepsPerFrame = 5;
+
+    private long accumulator = 0;
+    private long droppedSteps = 0;
+
+    public FixedTimestep() {
+    }
+
+    public long stepDuration() {
+        return this.stepDuration;
+    }
+
+    public long stepDuration(long stepDuration) {
+        return this.stepDuration = Math.max(1, stepDuration);
+    }
+
+    // Step duration in seconds, as consumed by the world update
+    public float stepTime() {
+        return Timer.convertToFloatTime(this.stepDuration);
+    }
+
+    public int maxStepsPerFrame() {
+        return this.maxStepsPerFrame;
+    }
+
+    public int maxStepsPerFrame(int maxStepsPerFrame) {
+        return this.maxStepsPerFrame = Math.max(1, maxStepsPerFrame);
+    }
+
+    public long droppedSteps() {
+        return this.droppedSteps;
+    }
+
+    // Returns number of steps to simulate, time above the catch up limit is dropped so a long frame cannot cause a spiral of death
+    public int advance(long timeDelta) {
+        this.accumulator += timeDelta > 0 ? timeDelta : 0;
+
+        long steps = this.accumulator / this.stepDuration;
+        if (steps > this.maxStepsPerFrame) {
+            this.droppedSteps += steps - this.maxStepsPerFrame;
+            steps = this.maxStepsPerFrame;
+            this.accumulator = 0;
+        }
+        else {
+            this.accumulator -= steps * this.stepDuration;
+        }
+        return (int)steps;
+    }
+
+    // Fraction of the next step already elapsed, used to blend the last two simulated states
+    public float interpolation() {
+        return Math.min(1f, this.accumulator / (float)this.stepDuration);
+    }
+
+    public void reset() {
+        this.accumulator = 0;
+        this.droppedSteps = 0;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.github.daishe.androidgametutorial;
+
+// Waits for the start of the next frame, deadlines are absolute so waiting errors do not accumulate between frames
+public interface FramePacer {
+
+    enum Type {
+        SLEEP,
+        PARK_SPIN,
+        CHOREOGRAPHER
+    }
+
+    long now();
+
+    // Deadline of the last awaited frame
+    long deadline();
+
+    void awaitNextFrame(long frameDuration) throws InterruptedException;
+
+    // Forgets the deadline, the next frame is counted from the current time point
+    void reset();
+
+    // Stops any background callbacks while no frame is awaited, the next awaited frame starts them again
+    void release();
+
+}
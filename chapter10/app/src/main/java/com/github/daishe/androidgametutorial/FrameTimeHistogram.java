@@ -0,0 +1,65 @@
+package com.github.daishe.androidgametutorial;
+
+// Fixed width buckets of 50 microseconds up to 100 milliseconds, longer samples share the last bucket
+public class FrameTimeHistogram {
+
+    private static final long bucketWidth = 50000;
+    private static final int buckets = 2000;
+
+    private int[] counts = new int[FrameTimeHistogram.buckets + 1];
+    private long count = 0;
+    private long max = 0;
+    private long sum = 0;
+
+    public FrameTimeHistogram() {
+    }
+
+    public void clear() {
+        for (int b = 0; b < this.counts.length; ++b)
+            this.counts[b] = 0;
+        this.count = 0;
+        this.max = 0;
+        this.sum = 0;
+    }
+
+    public void add(long sample) {
+        sample = Math.max(0, sample);
+        int bucket = (int)Math.min(FrameTimeHistogram.buckets, sample / FrameTimeHistogram.bucketWidth);
+        ++this.counts[bucket];
+        ++this.count;
+        this.sum += sample;
+        this.max = Math.max(this.max, sample);
+    }
+
+    public long count() {
+        return this.count;
+    }
+
+    public long max() {
+        return this.max;
+    }
+
+    public long mean() {
+        return (this.count != 0) ? this.sum / this.count : 0;
+    }
+
+    // Upper bound of the bucket containing the given fraction of samples, never above the exact maximum
+    public long percentile(double fraction) {
+        if (this.count == 0)
+            return 0;
+
+        long rank = Math.max(1, (long)Math.ceil(fraction * this.count));
+        long seen = 0;
+        for (int b = 0; b < this.counts.length; ++b) {
+            seen += this.counts[b];
+            if (seen >= rank)
+                return Math.min(this.max, (b + 1) * FrameTimeHistogram.bucketWidth);
+        }
+        return this.max;
+    }
+
+    public long p50() { return this.percentile(0.50); }
+    public long p95() { return this.percentile(0.95); }
+    public long p99() { return this.percentile(0.99); }
+
+}
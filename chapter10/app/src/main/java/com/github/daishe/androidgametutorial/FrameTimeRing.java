@@ -0,0 +1,57 @@
+package com.github.daishe.androidgametutorial;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock free ring of the latest samples, with a single writer and any number of readers
+public class FrameTimeRing {
+
+    private final int mask;
+    private final AtomicLongArray samples;
+    private final AtomicLong written = new AtomicLong(0);
+
+    // Capacity is rounded up to a power of two
+    public FrameTimeRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) * 2;
+        this.mask = size - 1;
+        this.samples = new AtomicLongArray(size);
+    }
+
+    public int capacity() {
+        return this.mask + 1;
+    }
+
+    public long written() {
+        return this.written.get();
+    }
+
+    public void add(long sample) {
+        long index = this.written.get();
+        this.samples.lazySet((int)(index & this.mask), sample);
+        this.written.lazySet(index + 1);
+    }
+
+    public void copyTo(FrameTimeHistogram histogram) {
+        this.copyTo(histogram, 0);
+    }
+
+    // Copies samples written since the given write count
+    // Samples overwritten while reading are skipped, so a reader never mixes up two different frames. The writer stores
+    // a sample before publishing the new count, so the slot a whole capacity behind the count may already be reused.
+    public void copyTo(FrameTimeHistogram histogram, long since) {
+        long end = this.written.get();
+        long begin = Math.max(since, end - this.capacity());
+
+        for (long i = begin; i < end; ++i) {
+            long sample = this.samples.get((int)(i & this.mask));
+            if (this.written.get() - i >= this.capacity())
+                continue;
+            histogram.add(sample);
+        }
+    }
+
+    public void clear() {
+        this.written.set(0);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.github.daishe.androidgametutorial;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+// Per frame timings of the game loop, each metric is written by a single thread and may be read from any thread
+public final class FrameTimings implements GameFacadeComponent {
+
+    public enum Metric {
+        FRAME,
+        UPDATE,
+        DRAW,
+        LOCK_CANVAS,
+        SLEEP_ERROR
+    }
+
+    private static final int samples = 512;
+
+    private FrameTimeRing[] rings = new FrameTimeRing[Metric.values().length];
+
+    public FrameTimings() {
+        for (int i = 0; i < this.rings.length; ++i)
+            this.rings[i] = new FrameTimeRing(FrameTimings.samples);
+    }
+
+    public void record(@NonNull Metric metric, long duration) {
+        this.rings[metric.ordinal()].add(duration);
+    }
+
+    public long recorded(@NonNull Metric metric) {
+        return this.rings[metric.ordinal()].written();
+    }
+
+    // Fills the histogram with the latest samples of the metric
+    @NonNull
+    public FrameTimeHistogram histogram(@NonNull Metric metric, @NonNull FrameTimeHistogram out) {
+        out.clear();
+        this.rings[metric.ordinal()].copyTo(out);
+        return out;
+    }
+
+    // Fills the histogram only with samples recorded after the recorded count was equal to since
+    @NonNull
+    public FrameTimeHistogram histogram(@NonNull Metric metric, long since, @NonNull FrameTimeHistogram out) {
+        out.clear();
+        this.rings[metric.ordinal()].copyTo(out, since);
+        return out;
+    }
+
+    @Override
+    public void create(@NonNull Context context) {
+        this.create();
+    }
+
+    public void create() {
+        for (FrameTimeRing ring : this.rings)
+            ring.clear();
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+}
@@ -0,0 +1,266 @@
+package com.github.daishe.androidgametutorial;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Samples the stack and the phase of loop threads whose frame runs longer than a multiple of the frame budget
+// Loop threads only write a few volatile fields, everything else happens on the watchdog thread
+public final class FrameWatchdog implements GameFacadeComponent {
+
+    public enum Phase {
+        IDLE,
+        UPDATE,
+        COLLISION,
+        DRAW,
+        LOCK_CANVAS
+    }
+
+    public static final class Sample {
+
+        private final String thread;
+        private final Phase phase;
+        private final long timePoint;
+        private final long elapsed;
+        private final boolean garbageCollected;
+        private final StackTraceElement[] stack;
+        private final Throwable exception;
+
+        Sample(String thread, Phase phase, long timePoint, long elapsed, boolean garbageCollected, StackTraceElement[] stack, Throwable exception) {
+            this.thread = thread;
+            this.phase = phase;
+            this.timePoint = timePoint;
+            this.elapsed = elapsed;
+            this.garbageCollected = garbageCollected;
+            this.stack = stack;
+            this.exception = exception;
+        }
+
+        public String thread() { return this.thread; }
+        public Phase phase() { return this.phase; }
+        public long timePoint() { return this.timePoint; }
+        public long elapsed() { return this.elapsed; }
+        public boolean garbageCollected() { return this.garbageCollected; }
+        public StackTraceElement[] stack() { return this.stack; }
+        public Throwable exception() { return this.exception; }
+
+    }
+
+    private static final class Watched {
+
+        private final Thread thread;
+        private volatile Phase phase = Phase.IDLE;
+        private volatile long frameStartTimePoint = 0;
+        private volatile long frame = 0;
+        private volatile long collectionsAtFrameStart = 0;
+        private long sampledFrame = 0;
+
+        Watched(Thread thread) {
+            this.thread = thread;
+        }
+
+    }
+
+    private GameFacade gameFacade;
+
+    private static final Watched[] noneWatched = new Watched[0];
+
+    // Replaced as a whole when a thread is added, so readers index one array without locking and without an iterator
+    private volatile Watched[] watched = FrameWatchdog.noneWatched;
+    private ArrayDeque<Sample> log = new ArrayDeque<Sample>();
+
+    private Thread thread = null;
+    private WeakReference<Object> collectionSentinel = new WeakReference<Object>(new Object());
+    private volatile long collections = 0;
+
+    public FrameWatchdog(@NonNull GameFacade gameFacade) {
+        this.gameFacade = gameFacade;
+    }
+
+    // Called by a loop thread when its frame work starts
+    public void frameStarted() {
+        Watched watched = this.watchedOf(Thread.currentThread());
+        watched.phase = Phase.IDLE;
+        watched.collectionsAtFrameStart = this.collections;
+        ++watched.frame;
+        watched.frameStartTimePoint = this.gameFacade.clock().now();
+    }
+
+    // Called by a loop thread when its frame work is done, waiting for the next frame is not watched
+    public void frameFinished() {
+        Watched watched = this.watchedOf(Thread.currentThread());
+        watched.frameStartTimePoint = 0;
+        watched.phase = Phase.IDLE;
+    }
+
+    public void phase(@NonNull Phase phase) {
+        Watched watched = this.find(Thread.currentThread());
+        if (watched != null)
+            watched.phase = phase;
+    }
+
+    // Exceptions escaping a frame are logged the same way as long frames
+    public void exception(@NonNull Throwable exception) {
+        Thread current = Thread.currentThread();
+        Watched watched = this.find(current);
+        Phase phase = (watched != null) ? watched.phase : Phase.IDLE;
+        long timePoint = this.gameFacade.clock().now();
+        long elapsed = (watched != null && watched.frameStartTimePoint != 0) ? timePoint - watched.frameStartTimePoint : 0;
+        this.append(new Sample(current.getName(), phase, timePoint, elapsed, false, exception.getStackTrace(), exception));
+    }
+
+    @NonNull
+    public List<Sample> samples() {
+        synchronized (this.log) {
+            return new ArrayList<Sample>(this.log);
+        }
+    }
+
+    @NonNull
+    public String dump() {
+        StringBuilder builder = new StringBuilder();
+        for (Sample sample : this.samples()) {
+            builder.append(String.format(
+                    Locale.US,
+                    "%s %s %.1f ms%s%s\n",
+                    sample.thread(),
+                    sample.phase().name().toLowerCase(Locale.US),
+                    sample.elapsed() / 1e6,
+                    sample.garbageCollected() ? " gc" : "",
+                    (sample.exception() != null) ? " " + sample.exception() : ""
+                ));
+            for (StackTraceElement element : sample.stack())
+                builder.append("    at ").append(element).append('\n');
+        }
+        return builder.toString();
+    }
+
+    public void clear() {
+        synchronized (this.log) {
+            this.log.clear();
+        }
+    }
+
+    @Override
+    public void create(@NonNull Context context) {
+        this.create();
+    }
+
+    public void create() {
+        this.watched = FrameWatchdog.noneWatched;
+        this.clear();
+    }
+
+    @Override
+    public void pause() {
+        if (this.thread != null) {
+            this.thread.interrupt();
+            this.thread = null;
+        }
+    }
+
+    // Runs only while the game is resumed, so a paused game has no wakeups
+    @Override
+    public void resume() {
+        if (this.thread != null || !this.gameFacade.configuration().frameWatchdog)
+            return;
+
+        this.thread = new Thread(this::run, "FrameWatchdog");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void destroy() {
+        this.pause();
+        this.watched = FrameWatchdog.noneWatched;
+    }
+
+    private void run() {
+        try {
+            while (!Thread.interrupted()) {
+                Configuration configuration = this.gameFacade.configuration();
+                long budget = Math.round(Time.resolution() / (double)configuration.framesPerSecond);
+                long threshold = (long)(budget * configuration.frameWatchdogBudgetMultiple);
+
+                Thread.sleep(Math.max(1, budget / 2 / 1000000));
+
+                this.checkCollections();
+                Watched[] watched = this.watched;
+                for (int i = 0; i < watched.length; ++i)
+                    this.check(watched[i], threshold);
+            }
+        }
+        catch (InterruptedException e) {
+        }
+    }
+
+    // A cleared weak sentinel means at least one collection has run since it was made
+    private void checkCollections() {
+        if (this.collectionSentinel.get() == null) {
+            this.collectionSentinel = new WeakReference<Object>(new Object());
+            ++this.collections;
+        }
+    }
+
+    // A stalled frame is sampled once, while it still stalls
+    private void check(Watched watched, long threshold) {
+        long frameStartTimePoint = watched.frameStartTimePoint;
+        long frame = watched.frame;
+        if (frameStartTimePoint == 0 || watched.sampledFrame == frame)
+            return;
+
+        long timePoint = this.gameFacade.clock().now();
+        long elapsed = timePoint - frameStartTimePoint;
+        if (elapsed < threshold)
+            return;
+
+        Phase phase = watched.phase;
+        StackTraceElement[] stack = watched.thread.getStackTrace();
+        if (watched.frame != frame)
+            return;
+
+        watched.sampledFrame = frame;
+        boolean garbageCollected = this.collections != watched.collectionsAtFrameStart;
+        this.append(new Sample(watched.thread.getName(), phase, timePoint, elapsed, garbageCollected, stack, null));
+    }
+
+    private void append(Sample sample) {
+        int size = Math.max(1, this.gameFacade.configuration().frameWatchdogLogSize);
+        synchronized (this.log) {
+            while (this.log.size() >= size)
+                this.log.removeFirst();
+            this.log.addLast(sample);
+        }
+    }
+
+    // Called by loop threads a few times per frame, so it must not allocate
+    private Watched find(Thread thread) {
+        Watched[] watched = this.watched;
+        for (int i = 0; i < watched.length; ++i)
+            if (watched[i].thread == thread)
+                return watched[i];
+        return null;
+    }
+
+    private Watched watchedOf(Thread thread) {
+        Watched watched = this.find(thread);
+        if (watched != null)
+            return watched;
+
+        synchronized (this) {
+            Watched[] current = this.watched;
+            Watched[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = watched = new Watched(thread);
+            this.watched = updated;
+        }
+        return watched;
+    }
+
+}
@@ -5,6 +5,8 @@ import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Matrix;
 import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
 
 public class GameCanvas {
 
@@ -15,15 +17,39 @@ public class GameCanvas {
 
     private Paint paint = new Paint();
     private Matrix matrix = new Matrix();
+    private Rect source = new Rect();
+    private RectF destination = new RectF();
+    private SpriteBatch spriteBatch = new SpriteBatch();
+    private RenderCommands commands = new RenderCommands();
+    private DebugLines debugLines = new DebugLines();
+    private boolean debugTouch = false;
+    private float debugTouchX = 0;
+    private float debugTouchY = 0;
+    private RenderCommandExecutor executor;
 
     private float lastScale = 1f;
+    private float interpolation = 1f;
+
+    // World space view rectangle, computed once when the canvas is locked
+    private float viewLeft = 0;
+    private float viewTop = 0;
+    private float viewRight = 0;
+    private float viewBottom = 0;
+
+    private int drawnEntities = 0;
+    private int culledEntities = 0;
 
     public GameCanvas(GameFacade gameFacade) {
         this.gameFacade = gameFacade;
+        this.executor = new RenderCommandExecutor(gameFacade);
 
         this.paint.setAntiAlias(true);
     }
 
+    public RenderCommands commands() {
+        return this.commands;
+    }
+
     public Vector2D position() {
         return this.position;
     }
@@ -32,18 +58,56 @@ public class GameCanvas {
         return this.position.setTo(position);
     }
 
-    public boolean isVisible(Vector2D point, float toleration) {
-        float width = this.canvas.getWidth() / this.lastScale / 2;
-        float height = this.canvas.getHeight() / this.lastScale / 2;
-        float x = point.x() - this.position.x();
-        float y = point.y() - this.position.y();
+    public float interpolation() {
+        return this.interpolation;
+    }
+
+    public float interpolation(float interpolation) {
+        return this.interpolation = interpolation;
+    }
+
+    // Blends the state from before the last simulation step with the current one
+    public float interpolate(float previous, float current) {
+        return previous + (current - previous) * this.interpolation;
+    }
+
+    // Angles are wrapped, so blend along the shorter arc
+    public float interpolateAngle(float previous, float current) {
+        float fullAngle = (float)(Math.PI * 2);
+        float delta = current - previous;
+        if (delta > Math.PI)
+            delta -= fullAngle;
+        else if (delta < -Math.PI)
+            delta += fullAngle;
+        return previous + delta * this.interpolation;
+    }
+
+    public boolean isVisible(float x, float y, float toleration) {
+        return x + toleration >= this.viewLeft && x - toleration <= this.viewRight
+                && y + toleration >= this.viewTop && y - toleration <= this.viewBottom;
+    }
+
+    public float viewLeft() { return this.viewLeft; }
+    public float viewTop() { return this.viewTop; }
+    public float viewRight() { return this.viewRight; }
+    public float viewBottom() { return this.viewBottom; }
+
+    // Counts of the frame being drawn, or of the last one once the canvas is released
+    public int drawnEntities() {
+        return this.drawnEntities;
+    }
+
+    public int culledEntities() {
+        return this.culledEntities;
+    }
 
-        boolean xVisible = !(x + toleration < -width || x - toleration > width);
-        boolean yVisible = !(y + toleration < -height || y - toleration > height);
-        return xVisible && yVisible;
+    public void countEntities(int drawn, int culled) {
+        this.drawnEntities += drawn;
+        this.culledEntities += culled;
     }
 
     public void drawVector2D(Vector2D vector, Vector2D at, int color) {
+        this.flushSprites();
         this.paint.setColor(color);
         this.canvas.drawLine(
                 at.x(),
@@ -56,14 +120,20 @@ public class GameCanvas {
     }
 
     public void drawCircle(float radius, Vector2D at, float alpha, int color) {
+        this.drawCircle(radius, at.x(), at.y(), alpha, color);
+    }
+
+    public void drawCircle(float radius, float x, float y, float alpha, int color) {
+        this.flushSprites();
         this.paint.setColor(color);
         this.paint.setAlpha((int)(255 * alpha));
-        this.canvas.drawCircle(at.x(), at.y(), radius, this.paint);
+        this.canvas.drawCircle(x, y, radius, this.paint);
         this.paint.setAlpha(255);
         this.paint.setColor(0xFF000000);
     }
 
     public void drawBitmap(Bitmap bitmap, Vector2D at) {
+        this.flushSprites();
         this.canvas.drawBitmap(
                 bitmap,
                 at.x() - bitmap.getWidth() / 2,
@@ -73,6 +143,7 @@ public class GameCanvas {
     }
 
     public void drawBitmap(Bitmap bitmap, Vector2D at, float scale, float rotation, float alpha) {
+        this.flushSprites();
         this.matrix.setTranslate(-bitmap.getWidth() / 2, -bitmap.getHeight() / 2);
         this.matrix.postScale(scale, scale);
         this.matrix.postRotate((float)Math.toDegrees(rotation), 0, 0);
@@ -85,43 +156,100 @@ public class GameCanvas {
         this.matrix.reset();
     }
 
+    // Untransformed blit of a region of the bitmap, centered at the given point
+    public void drawBitmap(Bitmap bitmap, int left, int top, int right, int bottom, float x, float y, float scale, float alpha) {
+        this.flushSprites();
+        float halfWidth = (right - left) * scale / 2;
+        float halfHeight = (bottom - top) * scale / 2;
+        this.source.set(left, top, right, bottom);
+        this.destination.set(x - halfWidth, y - halfHeight, x + halfWidth, y + halfHeight);
+
+        this.paint.setAlpha((int)(255 * alpha));
+        this.canvas.drawBitmap(bitmap, this.source, this.destination, this.paint);
+        this.paint.setAlpha(255);
+    }
+
+    public void drawBitmap(Bitmap bitmap, int left, int top, int right, int bottom, float x, float y, float scale, float rotation, float alpha) {
+        this.flushSprites();
+        if (rotation == 0f) {
+            this.drawBitmap(bitmap, left, top, right, bottom, x, y, scale, alpha);
+            return;
+        }
+
+        this.canvas.save();
+        this.canvas.rotate((float)Math.toDegrees(rotation), x, y);
+        this.drawBitmap(bitmap, left, top, right, bottom, x, y, scale, alpha);
+        this.canvas.restore();
+    }
+
+    // Queued into the sprite batch when batching is enabled, drawn by flushSprites
+    public void drawSprite(Bitmap bitmap, int left, int top, int right, int bottom, float x, float y, float scale, float rotation, float alpha) {
+        if (this.gameFacade.configuration().batchSprites)
+            this.spriteBatch.add(bitmap, left, top, right, bottom, x, y, scale, rotation, alpha);
+        else
+            this.drawBitmap(bitmap, left, top, right, bottom, x, y, scale, rotation, alpha);
+    }
+
+    // Every draw straight to the canvas flushes the sprites queued before it first, so batching keeps the drawing
+    // order, for example rockets drawn after the asteroids stay on top of them
+    public void flushSprites() {
+        this.spriteBatch.flush(this.canvas, this.paint.isAntiAlias());
+    }
+
+    // Recorded as render commands when recording is enabled, replayed by flushCommands
+    // Images not registered by the image manager have no id, they are drawn right away
+    public void submitSprite(Image image, float x, float y, float scale, float rotation, float alpha) {
+        if (this.gameFacade.configuration().recordRenderCommands && RenderCommands.accepts(image.id()))
+            this.commands.sprite(image.id(), x, y, scale, rotation, alpha);
+        else
+            image.drawSprite(this, x, y, scale, rotation, alpha);
+    }
+
+    public void submitCircle(float radius, float x, float y, float alpha, int color) {
+        if (this.gameFacade.configuration().recordRenderCommands)
+            this.commands.circle(x, y, radius, alpha, color);
+        else
+            this.drawCircle(radius, x, y, alpha, color);
+    }
+
+    public void flushCommands() {
+        this.executor.execute(this.commands, this);
+        this.flushSprites();
+    }
+
+    // Kept until the canvas is released, so the touch is drawn over the sprites
     public void drawDebugTouch(Vector2D at) {
-        this.drawCircle(20f, at, 0.5f, Color.YELLOW);
+        this.debugTouch = true;
+        this.debugTouchX = at.x();
+        this.debugTouchY = at.y();
     }
 
+    // Debug geometry is only collected, it is drawn on top of the frame with one drawLines call per colour
     public void drawDebugAcceleration(Vector2D at, Vector2D acceleration) {
-        this.drawVector2D(acceleration, at, Color.YELLOW);
+        this.debugLines.line(Color.YELLOW, at.x(), at.y(), at.x() + acceleration.x(), at.y() + acceleration.y());
     }
 
     public void drawDebugVelocity(Vector2D at, Vector2D velocity) {
-        this.drawVector2D(velocity, at, Color.GREEN);
+        this.debugLines.line(Color.GREEN, at.x(), at.y(), at.x() + velocity.x(), at.y() + velocity.y());
     }
 
     public void drawDebugHomingInfo(Vector2D initialPosition, Vector2D currentPosition, Vector2D targetPosition) {
-        this.drawVector2D(targetPosition.sub(currentPosition), currentPosition, Color.GRAY);
+        this.debugLines.line(Color.GRAY, currentPosition.x(), currentPosition.y(), targetPosition.x(), targetPosition.y());
 
-        this.paint.setColor(Color.GRAY);
-        this.paint.setStyle(Paint.Style.STROKE);
-        this.canvas.drawCircle(initialPosition.x(), initialPosition.y(), targetPosition.sub(initialPosition).radius(), this.paint);
-        this.paint.setStyle(Paint.Style.FILL);
-        this.paint.setColor(0xFF000000);
+        float dx = targetPosition.x() - initialPosition.x();
+        float dy = targetPosition.y() - initialPosition.y();
+        this.debugLines.circle(Color.GRAY, initialPosition.x(), initialPosition.y(), (float)Math.sqrt(dx * dx + dy * dy));
     }
 
     public void drawDebugCollisionBox(Vector2D at, float radius) {
-        this.paint.setColor(Color.WHITE);
-        this.paint.setStyle(Paint.Style.STROKE);
-
         // Collision circle
-        this.canvas.drawCircle(at.x(), at.y(), radius, this.paint);
+        this.debugLines.circle(Color.WHITE, at.x(), at.y(), radius);
 
         // Collision box
-        this.canvas.drawLine(at.x() - radius, at.y() - radius, at.x() + radius, at.y() - radius, this.paint);
-        this.canvas.drawLine(at.x() - radius, at.y() - radius, at.x() - radius, at.y() + radius, this.paint);
-        this.canvas.drawLine(at.x() + radius, at.y() + radius, at.x() - radius, at.y() + radius, this.paint);
-        this.canvas.drawLine(at.x() + radius, at.y() + radius, at.x() + radius, at.y() - radius, this.paint);
-
-        this.paint.setStyle(Paint.Style.FILL);
-        this.paint.setColor(0xFF000000);
+        this.debugLines.line(Color.WHITE, at.x() - radius, at.y() - radius, at.x() + radius, at.y() - radius);
+        this.debugLines.line(Color.WHITE, at.x() - radius, at.y() - radius, at.x() - radius, at.y() + radius);
+        this.debugLines.line(Color.WHITE, at.x() + radius, at.y() + radius, at.x() - radius, at.y() + radius);
+        this.debugLines.line(Color.WHITE, at.x() + radius, at.y() + radius, at.x() + radius, at.y() - radius);
     }
 
     public void lockCanvas(Canvas canvas) {
@@ -133,35 +261,47 @@ public class GameCanvas {
         this.canvas.scale(this.lastScale, this.lastScale);
         this.canvas.translate(-this.position.x(), -this.position.y());
 
+        float halfWidth = this.canvas.getWidth() / this.lastScale / 2;
+        float halfHeight = this.canvas.getHeight() / this.lastScale / 2;
+        this.viewLeft = this.position.x() - halfWidth;
+        this.viewTop = this.position.y() - halfHeight;
+        this.viewRight = this.position.x() + halfWidth;
+        this.viewBottom = this.position.y() + halfHeight;
+        this.drawnEntities = 0;
+        this.culledEntities = 0;
+
         this.canvas.drawColor(0xFF2E2957);
 
+        this.paint.setAntiAlias(this.gameFacade.qualityGovernor().antiAlias());
+
         Configuration configuration = this.gameFacade.configuration();
         if (configuration.drawPhysicsDebugInfo) {
+            float x = this.position.x();
+            float y = this.position.y();
 
             // Dimensional vectors
-            this.drawVector2D(Vector2D.fromCartesian(100, 0), this.position, Color.RED);
-            this.drawVector2D(Vector2D.fromCartesian(0, 100), this.position, Color.RED);
+            this.debugLines.line(Color.RED, x, y, x + 100, y);
+            this.debugLines.line(Color.RED, x, y, x, y + 100);
 
             // Dimensional vectors sum
-            this.drawVector2D(Vector2D.fromCartesian(100, 100), this.position, Color.RED);
+            this.debugLines.line(Color.RED, x, y, x + 100, y + 100);
 
             // Minimum visible range
-            this.paint.setStyle(Paint.Style.STROKE);
-            this.paint.setColor(Color.RED);
-            this.canvas.drawCircle(this.position.x(), this.position.y(), configuration.minVisibleRange, this.paint);
-            this.paint.setStyle(Paint.Style.FILL);
+            this.debugLines.circle(Color.RED, x, y, configuration.minVisibleRange);
 
             // Hearing range
-            this.paint.setStyle(Paint.Style.STROKE);
-            this.paint.setColor(Color.CYAN);
-            this.canvas.drawCircle(this.position.x(), this.position.y(), configuration.clearHearingRange, this.paint);
-            this.canvas.drawCircle(this.position.x(), this.position.y(), configuration.clearHearingRange + configuration.decayingHearingSpaceRange, this.paint);
-            this.paint.setColor(0xFF000000);
-            this.paint.setStyle(Paint.Style.FILL);
+            this.debugLines.circle(Color.CYAN, x, y, configuration.clearHearingRange);
+            this.debugLines.circle(Color.CYAN, x, y, configuration.clearHearingRange + configuration.decayingHearingSpaceRange);
         }
     }
 
     public Canvas releaseCanvas() {
+        this.flushCommands();
+        if (this.debugTouch) {
+            this.drawCircle(20f, this.debugTouchX, this.debugTouchY, 0.5f, Color.YELLOW);
+            this.debugTouch = false;
+        }
+        this.debugLines.flush(this.canvas, this.paint);
         this.canvas.restore();
 
         Canvas result = this.canvas;
@@ -6,6 +6,7 @@ import android.support.annotation.NonNull;
 public final class GameFacade implements GameFacadeComponent {
 
     private Context context = null;
+    private Clock clock = new MonotonicClock();
     private Configuration configuration = new Configuration();
     private Random random = new Random();
     private Screen screen = new Screen(this);
@@ -13,7 +14,11 @@ public final class GameFacade implements GameFacadeComponent {
     private Orientation orientation = new Orientation(this);
     private SoundManager soundManager = new SoundManager(this);
     private ImageManager imageManager = new ImageManager(this);
-    private Timer timer = new Timer();
+    private Timer timer = new Timer(this);
+    private CollisionWorkers collisionWorkers = new CollisionWorkers(this);
+    private FrameTimings frameTimings = new FrameTimings();
+    private QualityGovernor qualityGovernor = new QualityGovernor(this);
+    private FrameWatchdog frameWatchdog = new FrameWatchdog(this);
 
     public GameFacade() {
     }
@@ -22,6 +27,17 @@ public final class GameFacade implements GameFacadeComponent {
         return this.context;
     }
 
+    @NonNull
+    public Clock clock() {
+        return this.clock;
+    }
+
+    // Must be set before the facade is created, every component reads time only through the facade clock
+    @NonNull
+    public Clock clock(@NonNull Clock clock) {
+        return this.clock = clock;
+    }
+
     @NonNull
     public Configuration configuration() {
         return this.configuration;
@@ -62,6 +78,26 @@ public final class GameFacade implements GameFacadeComponent {
         return this.timer;
     }
 
+    @NonNull
+    public CollisionWorkers collisionWorkers() {
+        return this.collisionWorkers;
+    }
+
+    @NonNull
+    public FrameTimings frameTimings() {
+        return this.frameTimings;
+    }
+
+    @NonNull
+    public QualityGovernor qualityGovernor() {
+        return this.qualityGovernor;
+    }
+
+    @NonNull
+    public FrameWatchdog frameWatchdog() {
+        return this.frameWatchdog;
+    }
+
     @Override
     public void create(@NonNull Context context) {
         this.context = context;
@@ -74,6 +110,29 @@ public final class GameFacade implements GameFacadeComponent {
         this.soundManager.create(context);
         this.imageManager.create(context);
         this.timer.create(context);
+        this.collisionWorkers.create(context);
+        this.frameTimings.create(context);
+        this.qualityGovernor.create(context);
+        this.frameWatchdog.create(context);
+    }
+
+    // Creates the facade without any Android service, so the simulation can run on a plain JVM
+    // Time is driven by a manual clock, unless another one was set before
+    public void createHeadless(long seed) {
+        this.context = null;
+        if (this.clock instanceof MonotonicClock)
+            this.clock = new ManualClock();
+
+        this.random.create(seed);
+        this.screen.setPhysicalDimensions(1080, 1920);
+        this.orientation.createHeadless();
+        this.soundManager.createHeadless();
+        this.imageManager.createHeadless(3f);
+        this.timer.create();
+        this.collisionWorkers.create();
+        this.frameTimings.create();
+        this.qualityGovernor.create();
+        this.frameWatchdog.create();
     }
 
     @Override
@@ -86,10 +145,18 @@ public final class GameFacade implements GameFacadeComponent {
         this.soundManager.resume();
         this.imageManager.resume();
         this.timer.resume();
+        this.collisionWorkers.resume();
+        this.frameTimings.resume();
+        this.qualityGovernor.resume();
+        this.frameWatchdog.resume();
     }
 
     @Override
     public void pause() {
+        this.frameWatchdog.pause();
+        this.qualityGovernor.pause();
+        this.frameTimings.pause();
+        this.collisionWorkers.pause();
         this.timer.pause();
         this.imageManager.pause();
         this.soundManager.pause();
@@ -102,6 +169,10 @@ public final class GameFacade implements GameFacadeComponent {
 
     @Override
     public void destroy() {
+        this.frameWatchdog.destroy();
+        this.qualityGovernor.destroy();
+        this.frameTimings.destroy();
+        this.collisionWorkers.destroy();
         this.timer.destroy();
         this.imageManager.destroy();
         this.soundManager.destroy();
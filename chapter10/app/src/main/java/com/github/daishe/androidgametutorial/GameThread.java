@@ -4,11 +4,12 @@ import android.app.Activity;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Typeface;
 import android.support.annotation.NonNull;
 import android.view.SurfaceHolder;
 
 import java.lang.ref.WeakReference;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Locale;
 
 public class GameThread extends Thread {
 
@@ -20,61 +21,217 @@ public class GameThread extends Thread {
     private long lastFrameTimeDelta = 0;
 
     private long lastFPSCalcTimePoint = 0;
-    private float fps = 0;
+    private String frameHeadline = null;
+    private int frameHeadlineColor = Color.GREEN;
 
-    private AtomicBoolean isDrawing = new AtomicBoolean(false);
+    private FrameTimeHistogram histogram = new FrameTimeHistogram();
+    private String[] timingsOverlay = new String[FrameTimings.Metric.values().length + 1];
+    private Paint fpsPaint = new Paint();
+    private Paint timingsPaint = new Paint();
+
+    // Guarded by the gate, loops wait on it while there is no surface, or while paused after presenting the last frame
+    private final Object gate = new Object();
+    private boolean isDrawing = false;
+    private boolean paused = true;
+    private boolean pausedFramePresented = false;
+
+    private Thread renderThread = null;
+    private FramePacer framePacer = null;
+    private FramePacer renderFramePacer = null;
 
     public GameThread(Activity activity, GameFacade gameFacade, GameView view) {
         this.activityWeakReference = new WeakReference<Activity>(activity);
         this.gameFacade = gameFacade;
         this.view = view;
+
+        this.fpsPaint.setTextSize(60);
+        this.timingsPaint.setTextSize(32);
+        this.timingsPaint.setTypeface(Typeface.MONOSPACE);
+        this.timingsPaint.setColor(Color.WHITE);
     }
 
     public boolean drawing() {
-        return this.isDrawing.get();
+        synchronized (this.gate) {
+            return this.isDrawing;
+        }
     }
 
+    // A new surface needs a frame even when paused
     public boolean drawing(boolean isDrawing) {
-        this.isDrawing.set(isDrawing);
+        synchronized (this.gate) {
+            this.isDrawing = isDrawing;
+            this.pausedFramePresented = false;
+            this.gate.notifyAll();
+        }
         return isDrawing;
     }
 
+    public boolean paused() {
+        synchronized (this.gate) {
+            return this.paused;
+        }
+    }
+
+    public boolean paused(boolean paused) {
+        synchronized (this.gate) {
+            this.paused = paused;
+            this.pausedFramePresented = false;
+            this.gate.notifyAll();
+        }
+        return paused;
+    }
+
     @Override
     public synchronized void start() {
-        long now = System.nanoTime();
+        long now = this.gameFacade.clock().now();
         this.lastFrameStartTimePoint = now;
         this.lastFPSCalcTimePoint = now;
+
+        // In the pipelined mode this thread only simulates, while drawing of the published snapshots
+        // (including blocking in lockCanvas and unlockCanvasAndPost) happens on a separate render thread
+        this.framePacer = this.makeFramePacer();
+        if (this.gameFacade.configuration().pipelinedRendering) {
+            this.renderThread = new Thread(this::runRendering, "GameRenderThread");
+            this.renderFramePacer = this.makeFramePacer();
+        }
+
         super.start();
+        if (this.renderThread != null)
+            this.renderThread.start();
     }
 
     @Override
     public void run() {
+        boolean presenting = this.renderThread == null;
         while (!Thread.interrupted() && this.isMainActivityRunning()) {
             try {
-                long frameLogicStartTimePoint = Time.now();
+                if (this.awaitActive(this.framePacer, presenting))
+                    this.resumeFrames(this.framePacer, presenting);
 
-                this.lastFrameTimeDelta = frameLogicStartTimePoint - this.lastFrameStartTimePoint;
-                this.lastFrameStartTimePoint = frameLogicStartTimePoint;
+                long frameLogicStartTimePoint = this.gameFacade.clock().now();
+                this.gameFacade.frameWatchdog().frameStarted();
 
-                if (this.drawing()) {
+                if (presenting) {
+                    this.markFrameStart(frameLogicStartTimePoint);
                     this.executeUpdate();
                     this.executeDraw();
+                    this.framePresented();
+                    this.gameFacade.qualityGovernor().evaluate(this.gameFacade.clock().now(), this.ticksPerFrame(), false);
+                }
+                else {
+                    this.executeSimulation();
                 }
 
-                long frameLogicStopTimePoint = Time.now();
+                this.gameFacade.frameWatchdog().frameFinished();
+                this.awaitNextFrame(this.framePacer, presenting);
+            }
+            catch (InterruptedException e) {
+                break;
+            }
+            catch (Exception e) {
+                this.gameFacade.frameWatchdog().exception(e);
+                this.gameFacade.frameWatchdog().frameFinished();
+            }
+        }
 
-                if (!this.gameFacade.configuration().unboundFrameRate) {
-                    long frameLogicTimeDelta = Math.max(0, frameLogicStopTimePoint - frameLogicStartTimePoint);
-                    long sleepTime = Math.max(0, (this.ticksPerFrame() - frameLogicTimeDelta) / (Time.resolution() / 1000));
-                    Thread.sleep(sleepTime);
-                }
+        this.framePacer.release();
+        if (this.renderThread != null)
+            this.renderThread.interrupt();
+    }
+
+    private void runRendering() {
+        while (!Thread.interrupted() && this.isMainActivityRunning()) {
+            try {
+                if (this.awaitActive(this.renderFramePacer, true))
+                    this.resumeFrames(this.renderFramePacer, true);
+
+                long frameLogicStartTimePoint = this.gameFacade.clock().now();
+                this.gameFacade.frameWatchdog().frameStarted();
+
+                this.markFrameStart(frameLogicStartTimePoint);
+                this.updateFPS();
+                this.executeDraw();
+                this.framePresented();
+                this.gameFacade.qualityGovernor().evaluate(this.gameFacade.clock().now(), this.ticksPerFrame(), true);
+
+                this.gameFacade.frameWatchdog().frameFinished();
+                this.awaitNextFrame(this.renderFramePacer, true);
             }
             catch (InterruptedException e) {
                 break;
             }
             catch (Exception e) {
+                this.gameFacade.frameWatchdog().exception(e);
+                this.gameFacade.frameWatchdog().frameFinished();
             }
         }
+
+        this.renderFramePacer.release();
+    }
+
+    // Blocks without any wakeups while there is nothing to do, returns whether it had to wait
+    // The simulation does not run while paused, and presenting stops once a frame of the paused game is shown
+    // The pacer is released before parking, so it does not keep receiving vsync callbacks on the main thread
+    private boolean awaitActive(FramePacer pacer, boolean presenting) throws InterruptedException {
+        synchronized (this.gate) {
+            boolean parked = false;
+            while (!this.isDrawing || (this.paused && (!presenting || this.pausedFramePresented))) {
+                if (!parked)
+                    pacer.release();
+                this.gate.wait();
+                parked = true;
+            }
+            return parked;
+        }
+    }
+
+    private void framePresented() {
+        synchronized (this.gate) {
+            if (this.paused)
+                this.pausedFramePresented = true;
+        }
+    }
+
+    // Time spent parked is neither a late frame deadline nor a long frame
+    // A released pacer becomes active again with the next awaited frame
+    private void resumeFrames(FramePacer pacer, boolean presenting) {
+        pacer.reset();
+        if (presenting)
+            this.lastFrameStartTimePoint = this.gameFacade.clock().now();
+    }
+
+    private void markFrameStart(long frameLogicStartTimePoint) {
+        this.lastFrameTimeDelta = frameLogicStartTimePoint - this.lastFrameStartTimePoint;
+        this.lastFrameStartTimePoint = frameLogicStartTimePoint;
+        this.gameFacade.frameTimings().record(FrameTimings.Metric.FRAME, this.lastFrameTimeDelta);
+    }
+
+    // Sleep error is recorded only by the thread presenting frames, every metric must have a single writer
+    private void awaitNextFrame(FramePacer pacer, boolean presenting) throws InterruptedException {
+        if (this.gameFacade.configuration().unboundFrameRate) {
+            pacer.reset();
+            return;
+        }
+
+        pacer.awaitNextFrame(this.ticksPerFrame());
+        if (presenting)
+            this.gameFacade.frameTimings().record(FrameTimings.Metric.SLEEP_ERROR, this.gameFacade.clock().now() - pacer.deadline());
+    }
+
+    // With a manual clock nothing is waited for, frames follow each other as fast as the CPU allows
+    private FramePacer makeFramePacer() {
+        Clock clock = this.gameFacade.clock();
+        if (clock instanceof ManualClock)
+            return new VirtualFramePacer((ManualClock)clock);
+
+        switch (this.gameFacade.configuration().framePacer) {
+            case SLEEP:
+                return new SleepFramePacer(clock);
+            case CHOREOGRAPHER:
+                return new ChoreographerFramePacer();
+            default:
+                return new ParkSpinFramePacer(clock);
+        }
     }
 
     private boolean isMainActivityRunning() {
@@ -88,39 +245,99 @@ public class GameThread extends Thread {
     }
 
     private void executeUpdate() {
-        this.view.update();
+        this.executeSimulation();
         this.updateFPS();
     }
 
+    private void executeSimulation() {
+        long updateStartTimePoint = this.gameFacade.clock().now();
+        this.gameFacade.frameWatchdog().phase(FrameWatchdog.Phase.UPDATE);
+        this.view.update();
+        this.gameFacade.frameTimings().record(FrameTimings.Metric.UPDATE, this.gameFacade.clock().now() - updateStartTimePoint);
+    }
+
     private void updateFPS() {
         if (this.gameFacade.configuration().drawFramesPerSecond) {
             long calcInterval = (long) (this.gameFacade.configuration().framesPerSecondCalcInterval * Time.resolution());
 
             if (this.lastFrameStartTimePoint - this.lastFPSCalcTimePoint > calcInterval) {
                 this.lastFPSCalcTimePoint = this.lastFrameStartTimePoint;
-                if (this.lastFrameTimeDelta != 0) {
-                    double value = Time.resolution() / (double) this.lastFrameTimeDelta;
-                    this.fps = Math.round(value * 1000) / 1000f;
-                } else {
-                    this.fps = 0;
-                }
+                this.updateTimingsOverlay();
             }
         }
     }
 
+    private void updateTimingsOverlay() {
+        FrameTimings frameTimings = this.gameFacade.frameTimings();
+        for (FrameTimings.Metric metric : FrameTimings.Metric.values()) {
+            frameTimings.histogram(metric, this.histogram);
+            this.timingsOverlay[metric.ordinal()] = String.format(
+                    Locale.US,
+                    "%-11s p50 %5.1f  p95 %5.1f  p99 %5.1f  max %5.1f ms",
+                    metric.name().toLowerCase(Locale.US),
+                    this.histogram.p50() / 1e6,
+                    this.histogram.p95() / 1e6,
+                    this.histogram.p99() / 1e6,
+                    this.histogram.max() / 1e6
+                );
+
+            if (metric == FrameTimings.Metric.FRAME)
+                this.updateFrameHeadline();
+        }
+
+        GameCanvas gameCanvas = this.view.gameCanvas();
+        this.timingsOverlay[this.timingsOverlay.length - 1] = String.format(
+                Locale.US,
+                "%-11s drawn %5d  culled %5d",
+                "entities",
+                gameCanvas.drawnEntities(),
+                gameCanvas.culledEntities()
+            );
+    }
+
+    // Frame time percentiles instead of the averaged frame rate, which hides stutter
+    private void updateFrameHeadline() {
+        long budget = this.ticksPerFrame();
+        this.frameHeadline = String.format(
+                Locale.US,
+                "p50 %.1f  p95 %.1f  p99 %.1f",
+                this.histogram.p50() / 1e6,
+                this.histogram.p95() / 1e6,
+                this.histogram.p99() / 1e6
+            );
+
+        if (this.histogram.p99() > budget * 3 / 2)
+            this.frameHeadlineColor = Color.RED;
+        else if (this.histogram.p95() > budget * 11 / 10)
+            this.frameHeadlineColor = Color.YELLOW;
+        else
+            this.frameHeadlineColor = Color.GREEN;
+    }
+
     private void executeDraw() {
         SurfaceHolder surfaceHolder = this.view.getHolder();
+        FrameTimings frameTimings = this.gameFacade.frameTimings();
         Canvas canvas = null;
+        long lockStartTimePoint = this.gameFacade.clock().now();
+        long drawStartTimePoint = lockStartTimePoint;
         try {
+            this.gameFacade.frameWatchdog().phase(FrameWatchdog.Phase.LOCK_CANVAS);
             canvas = surfaceHolder.lockCanvas();
+            drawStartTimePoint = this.gameFacade.clock().now();
+            this.gameFacade.frameWatchdog().phase(FrameWatchdog.Phase.DRAW);
+            frameTimings.record(FrameTimings.Metric.LOCK_CANVAS, drawStartTimePoint - lockStartTimePoint);
             if (canvas != null) {
-                this.view.onDraw(canvas);
+                if (this.renderThread != null)
+                    this.view.drawSnapshot(canvas);
+                else
+                    this.view.onDraw(canvas);
                 this.drawFPS(canvas);
             }
         }
         finally {
             if (canvas != null)
                 surfaceHolder.unlockCanvasAndPost(canvas);
+            frameTimings.record(FrameTimings.Metric.DRAW, this.gameFacade.clock().now() - drawStartTimePoint);
         }
     }
 
@@ -128,16 +345,15 @@ public class GameThread extends Thread {
         Configuration configuration = this.gameFacade.configuration();
 
         if (configuration.drawFramesPerSecond) {
-            Paint paint = new Paint();
-            paint.setTextSize(75);
-            if (this.fps > configuration.framesPerSecond * 0.9)
-                paint.setColor(Color.GREEN);
-            else if (this.fps > configuration.framesPerSecond * 0.5)
-                paint.setColor(Color.YELLOW);
-            else
-                paint.setColor(Color.RED);
-
-            canvas.drawText(String.valueOf(this.fps), 10, 85, paint);
+            if (this.frameHeadline != null) {
+                this.fpsPaint.setColor(this.frameHeadlineColor);
+                canvas.drawText(this.frameHeadline, 10, 85, this.fpsPaint);
+            }
+
+            // Tail latencies of the latest frames of every metric
+            for (int i = 0; i < this.timingsOverlay.length; ++i)
+                if (this.timingsOverlay[i] != null)
+                    canvas.drawText(this.timingsOverlay[i], 10, 135 + i * 40, this.timingsPaint);
         }
     }
 
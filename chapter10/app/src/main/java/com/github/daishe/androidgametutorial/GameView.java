@@ -11,7 +11,9 @@ public class GameView extends SurfaceView {
     private GameWorld world;
     private GameCanvas gameCanvas;
 
-    private float lastUpdateTime;
+    private long lastUpdateTime;
+    private FixedTimestep timestep = new FixedTimestep();
+    private WorldSnapshotBuffer snapshots = new WorldSnapshotBuffer();
 
     public GameView(Context context, @NonNull GameFacade gameFacade, @NonNull GameWorld world) {
         super(context);
@@ -20,21 +22,55 @@ public class GameView extends SurfaceView {
         this.world = world;
         this.gameCanvas = new GameCanvas(gameFacade);
 
-        this.lastUpdateTime = this.gameFacade.timer().timeAsFloat();
+        this.lastUpdateTime = this.gameFacade.timer().timeAsLong();
+    }
+
+    @NonNull
+    public GameCanvas gameCanvas() {
+        return this.gameCanvas;
     }
 
     protected void update() {
-        float updateTime = this.gameFacade.timer().timeAsFloat();
-        float timeShift = updateTime - this.lastUpdateTime;
-        timeShift = timeShift > 0 ? timeShift : 0;
+        long updateTime = this.gameFacade.timer().timeAsLong();
+        long timeDelta = updateTime - this.lastUpdateTime;
         this.lastUpdateTime = updateTime;
 
-        this.world.update(timeShift);
+        Configuration configuration = this.gameFacade.configuration();
+        this.timestep.stepDuration(Time.resolution() / configuration.simulationStepsPerSecond);
+        this.timestep.maxStepsPerFrame(configuration.maxSimulationStepsPerFrame);
+
+        this.world.captureInput();
+
+        int steps = this.timestep.advance(timeDelta);
+        for (int i = 0; i < steps; ++i)
+            this.world.update(this.timestep.stepTime());
+
+        if (configuration.pipelinedRendering && steps > 0) {
+            this.snapshots.writable().capture(this.world, this.gameFacade.clock().now(), this.timestep.interpolation(), this.timestep.stepDuration());
+            this.snapshots.publish();
+        }
+    }
+
+    // Called from the render thread in the pipelined mode, touches only the latest published snapshot
+    protected void drawSnapshot(@NonNull Canvas canvas) {
+        Configuration configuration = this.gameFacade.configuration();
+        WorldSnapshot snapshot = this.snapshots.latest();
+
+        if (snapshot != null) {
+            this.gameCanvas.interpolation(configuration.interpolateRendering ? snapshot.interpolationAt(this.gameFacade.clock().now()) : 1f);
+            this.gameCanvas.position(snapshot.cameraPosition(this.gameCanvas));
+        }
+
+        this.gameCanvas.lockCanvas(canvas);
+        if (snapshot != null)
+            snapshot.draw(this.gameCanvas, configuration);
+        this.gameCanvas.releaseCanvas();
     }
 
     @Override
     protected void onDraw(@NonNull Canvas canvas) {
-        this.gameCanvas.position(this.world.cameraPosition());
+        this.gameCanvas.interpolation(this.gameFacade.configuration().interpolateRendering ? this.timestep.interpolation() : 1f);
+        this.gameCanvas.position(this.world.player().drawPosition(this.gameCanvas));
 
         this.gameCanvas.lockCanvas(canvas);
         this.world.draw(this.gameCanvas);
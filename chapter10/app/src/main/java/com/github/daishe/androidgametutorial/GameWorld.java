@@ -1,27 +1,39 @@
 package com.github.daishe.androidgametutorial;
 
-import java.util.ArrayList;
-
 public class GameWorld {
 
+    private static final int smallCollisionContact = 0;
+    private static final int largeCollisionContact = 1;
+
     private GameFacade gameFacade;
 
     private PlayerShip playerShip;
-    private ArrayList<Asteroid> asteroids;
-    private ArrayList<Rocket> rockets;
+    private AsteroidField asteroids;
+    private RocketPool rockets;
 
     private float rocketFireTimeout = 0;
 
+    private BroadPhase broadPhase = null;
+    private BroadPhase.Type broadPhaseType = null;
+    private CollisionPairs collisionPairs = new CollisionPairs();
+    private ContactBuffer contacts = new ContactBuffer();
+    private KineticCollisionScheduler kineticScheduler = new KineticCollisionScheduler();
+
+    private InputFrame input = new InputFrame();
+
+    private double time = 0;
+
     public GameWorld(GameFacade gameFacade) {
         this.gameFacade = gameFacade;
 
         this.playerShip = new PlayerShip().create(this);
 
-        this.asteroids = new ArrayList<Asteroid>();
-        while (this.asteroids.size() < this.gameFacade.configuration().asteroidsLimit)
-            this.asteroids.add(createAsteroid(new Asteroid()));
+        int asteroidsLimit = (int)this.gameFacade.configuration().asteroidsLimit;
+        this.asteroids = new AsteroidField(this, asteroidsLimit);
+        while (this.asteroids.size() < asteroidsLimit)
+            this.createAsteroid(this.asteroids.add());
 
-        this.rockets = new ArrayList<Rocket>();
+        this.rockets = new RocketPool(this.gameFacade.configuration().rocketsLimit);
     }
 
     public GameFacade facade() {
@@ -36,17 +48,38 @@ public class GameWorld {
         return this.playerShip;
     }
 
+    public AsteroidField asteroids() {
+        return this.asteroids;
+    }
+
+    public RocketPool rockets() {
+        return this.rockets;
+    }
+
+    public InputFrame input() {
+        return this.input;
+    }
+
     public Vector2D orientationVector() {
-        return this.gameFacade.orientation().snapshot().asInGameVector2D();
+        return this.input.orientationVector();
+    }
+
+    // Called once per frame, before the frame's simulation steps
+    public void captureInput() {
+        this.input.capture(this.gameFacade);
+        this.asteroids.updateView();
     }
 
     public void update(float timeShift) {
+        this.time += timeShift;
 
         if (this.rocketFireTimeout <= 0) {
-            TouchEvent touchEvent = this.facade().touch().get();
-            if (touchEvent != null && this.playerShip.alive()) {
-                this.rockets.add(new Rocket().create(this, touchEvent.gamePosition(this.cameraPosition())));
-                this.rocketFireTimeout = this.gameFacade.configuration().rocketFireTimeout;
+            if (this.input.touched() && this.playerShip.alive()) {
+                Rocket rocket = this.rockets.obtain();
+                if (rocket != null) {
+                    rocket.create(this, this.input.touchGamePosition(this.cameraPosition()));
+                    this.rocketFireTimeout = this.gameFacade.configuration().rocketFireTimeout;
+                }
             }
         }
         else {
@@ -54,130 +87,229 @@ public class GameWorld {
         }
 
         this.playerShip.update(timeShift);
-        for (Asteroid asteroid : this.asteroids)
-            asteroid.update(timeShift);
-        for (Rocket rocket : this.rockets)
-            rocket.update(timeShift);
+        this.asteroids.update(timeShift);
+        for (int i = 0; i < this.rockets.size(); ++i)
+            this.rockets.get(i).update(timeShift);
 
+        FrameWatchdog frameWatchdog = this.gameFacade.frameWatchdog();
+        frameWatchdog.phase(FrameWatchdog.Phase.COLLISION);
         this.resolveCollisions();
+        frameWatchdog.phase(FrameWatchdog.Phase.UPDATE);
 
-        for (Asteroid asteroid : this.asteroids)
-            if (!asteroid.alive())
-                this.createAsteroid(asteroid);
-        for (int i = 0; i < this.rockets.size(); ++i)
+        // Asteroids above the limit of the current quality level are not recreated, and disappear as soon as they are off-screen
+        int asteroidsLimit = this.gameFacade.qualityGovernor().asteroidsLimit();
+        for (int i = 0; i < this.asteroids.size(); ++i) {
+            if (i >= asteroidsLimit) {
+                if (this.asteroids.alive(i) && !this.asteroids.onScreen(i))
+                    this.asteroids.alive(i, false);
+            }
+            else if (!this.asteroids.alive(i)) {
+                this.createAsteroid(i);
+                this.kineticScheduler.asteroidCreated(this.asteroids, i, this.time);
+            }
+        }
+        for (int i = 0; i < this.rockets.size(); ) {
             if (!this.rockets.get(i).alive())
-                this.rockets.remove(i);
+                this.rockets.release(i);
+            else
+                ++i;
+        }
     }
 
+    // The visibility passes run before anything is drawn, the view rectangle is computed once when the canvas is locked
     public void draw(GameCanvas gameCanvas) {
+        this.asteroids.cull(gameCanvas);
+        this.rockets.cull(gameCanvas);
+
         this.playerShip.draw(gameCanvas);
-        for (Asteroid asteroid : this.asteroids)
-            asteroid.draw(gameCanvas);
-        for (Rocket rocket : this.rockets)
-            rocket.draw(gameCanvas);
+        this.asteroids.draw(gameCanvas);
+        this.rockets.draw(gameCanvas);
 
         if (this.gameFacade.configuration().drawPhysicsDebugInfo) {
-            TouchEvent touchEvent = this.gameFacade.touch().get();
-            if (touchEvent != null)
-                gameCanvas.drawDebugTouch(touchEvent.gamePosition(this.cameraPosition()));
+            if (this.input.touched())
+                gameCanvas.drawDebugTouch(this.input.touchGamePosition(this.cameraPosition()));
         }
     }
 
-    private Asteroid createAsteroid(Asteroid asteroid) {
+    private void createAsteroid(int index) {
         Configuration configuration = this.gameFacade.configuration();
         Random random = this.gameFacade.random();
 
         float radius = random.linear() * configuration.spawnSpaceRange + configuration.minSpawnRange;
         float theta = random.angle();
-        asteroid.create(this, Vector2D.fromPolar(radius, theta).addInPlace(this.cameraPosition()));
-        return asteroid;
+        this.asteroids.create(
+                index,
+                Vector2D.polarToCartesianX(radius, theta) + this.cameraPosition().x(),
+                Vector2D.polarToCartesianY(radius, theta) + this.cameraPosition().y()
+            );
     }
 
     private void resolveCollisions() {
+        this.updateBroadPhase();
+
+        this.contacts.clear();
         this.resolveCollisionsBetweenPlayerShipAndAsteroid();
         this.resolveCollisionsBetweenAsteroidAndAsteroid();
         this.resolveCollisionsBetweenAsteroidAndRocket();
+        this.playCollisionSounds();
+    }
+
+    private void playCollisionSounds() {
+        SoundManager soundManager = this.gameFacade.soundManager();
+        Vector2D cameraPosition = this.cameraPosition();
+
+        for (int i = 0; i < this.contacts.size(); ++i) {
+            SoundSample sound = (this.contacts.kind(i) == GameWorld.largeCollisionContact)
+                    ? soundManager.largeCollisionSound()
+                    : soundManager.smallCollisionSound();
+            sound.trigger(this.contacts.x(i) - cameraPosition.x(), this.contacts.y(i) - cameraPosition.y());
+        }
+    }
+
+    private void updateBroadPhase() {
+        BroadPhase.Type type = this.gameFacade.configuration().collisionBroadPhase;
+        if (this.broadPhase == null || this.broadPhaseType != type) {
+            this.broadPhase = (type == BroadPhase.Type.SWEEP_AND_PRUNE) ? new SweepAndPrune() : new SpatialHashGrid();
+            this.broadPhaseType = type;
+        }
+
+        float largestRadius = this.gameFacade.imageManager().largestRadius();
+        for (int i = 0; i < this.rockets.size(); ++i)
+            largestRadius = Math.max(largestRadius, this.rockets.get(i).collisionRadius());
+
+        this.broadPhase.update(this.asteroids, largestRadius);
     }
 
     private void resolveCollisionsBetweenPlayerShipAndAsteroid() {
         if (!this.playerShip.alive())
             return;
 
-        for (int i = 0; i < this.asteroids.size(); ++i) {
-            Asteroid asteroid = this.asteroids.get(i);
+        this.collisionPairs.clear();
+        this.broadPhase.collectPairs(
+                0,
+                this.playerShip.position().x(),
+                this.playerShip.position().y(),
+                this.playerShip.collisionRadius(),
+                this.collisionPairs
+            );
+        this.collisionPairs.sort();
+
+        for (int k = 0; k < this.collisionPairs.size(); ++k) {
+            int asteroid = this.collisionPairs.first(k);
 
-            if (!asteroid.alive())
+            if (!this.asteroids.alive(asteroid))
                 continue;
 
-            Vector2D collisionPoint = Collision.at(
-                    this.playerShip.position(),
+            boolean inCollision = Collision.test(
+                    this.playerShip.position().x(),
+                    this.playerShip.position().y(),
                     this.playerShip.collisionRadius(),
-                    asteroid.position(),
-                    asteroid.collisionRadius()
+                    this.asteroids.x(asteroid),
+                    this.asteroids.y(asteroid),
+                    this.asteroids.radius(asteroid),
+                    this.contacts,
+                    GameWorld.largeCollisionContact
                 );
 
-            if (collisionPoint != null) {
+            if (inCollision) {
                 this.playerShip.alive(false);
-                asteroid.alive(false);
-                this.facade().soundManager().largeCollisionSound().play(collisionPoint.sub(this.cameraPosition()));
+                this.asteroids.alive(asteroid, false);
             }
         }
     }
 
     private void resolveCollisionsBetweenAsteroidAndAsteroid() {
-        for (int i = 0; i < this.asteroids.size(); ++i) {
-            Asteroid first = this.asteroids.get(i);
+        this.collisionPairs.clear();
+        if (this.gameFacade.configuration().kineticAsteroidCollisions) {
+            if (!this.kineticScheduler.initialized())
+                this.kineticScheduler.scheduleAll(this.asteroids, this.time);
+            this.kineticScheduler.collectPairs(this.time, this.collisionPairs);
+        }
+        else {
+            // Workers interrupted before they are done leave the pairs to the serial pass of the same step
+            this.kineticScheduler.reset();
+            CollisionWorkers collisionWorkers = this.gameFacade.collisionWorkers();
+            boolean collected = collisionWorkers.worthUsing(this.asteroids.size())
+                    && collisionWorkers.collectAsteroidHits(this.broadPhase, this.asteroids, this.collisionPairs);
+            if (!collected)
+                this.broadPhase.collectPairs(this.collisionPairs);
+        }
+        this.collisionPairs.sort();
+
+        // Mirrors the nested loops: liveness of the first asteroid is checked once, before its pairs are tested
+        int first = -1;
+        boolean firstAlive = false;
+        for (int k = 0; k < this.collisionPairs.size(); ++k) {
+            if (this.collisionPairs.first(k) != first) {
+                first = this.collisionPairs.first(k);
+                firstAlive = this.asteroids.alive(first);
+            }
 
-            if (!first.alive())
+            if (!firstAlive)
                 continue;
 
-            for (int j = i + 1; j < this.asteroids.size(); ++j) {
-                Asteroid second = this.asteroids.get(j);
+            int second = this.collisionPairs.second(k);
 
-                if (!second.alive())
-                    continue;
+            if (!this.asteroids.alive(second))
+                continue;
 
-                Vector2D collisionPoint = Collision.at(
-                        first.position(),
-                        first.collisionRadius(),
-                        second.position(),
-                        second.collisionRadius()
-                    );
+            boolean inCollision = Collision.test(
+                    this.asteroids.x(first),
+                    this.asteroids.y(first),
+                    this.asteroids.radius(first),
+                    this.asteroids.x(second),
+                    this.asteroids.y(second),
+                    this.asteroids.radius(second),
+                    this.contacts,
+                    GameWorld.smallCollisionContact
+                );
 
-                if (collisionPoint != null) {
-                    first.alive(false);
-                    second.alive(false);
-                    this.facade().soundManager().smallCollisionSound().play(collisionPoint.sub(this.cameraPosition()));
-                }
+            if (inCollision) {
+                this.asteroids.alive(first, false);
+                this.asteroids.alive(second, false);
             }
         }
     }
 
     private void resolveCollisionsBetweenAsteroidAndRocket() {
-        for (int i = 0; i < this.asteroids.size(); ++i) {
-            Asteroid asteroid = this.asteroids.get(i);
+        this.collisionPairs.clear();
+        for (int j = 0; j < this.rockets.size(); ++j) {
+            Rocket rocket = this.rockets.get(j);
+            if (rocket.alive())
+                this.broadPhase.collectPairs(j, rocket.position().x(), rocket.position().y(), rocket.collisionRadius(), this.collisionPairs);
+        }
+        this.collisionPairs.sort();
+
+        int asteroid = -1;
+        boolean asteroidAlive = false;
+        for (int k = 0; k < this.collisionPairs.size(); ++k) {
+            if (this.collisionPairs.first(k) != asteroid) {
+                asteroid = this.collisionPairs.first(k);
+                asteroidAlive = this.asteroids.alive(asteroid);
+            }
 
-            if (!asteroid.alive())
+            if (!asteroidAlive)
                 continue;
 
-            for (int j = 0; j < this.rockets.size(); ++j) {
-                Rocket rocket = this.rockets.get(j);
-
-                if (!rocket.alive())
-                    continue;
+            Rocket rocket = this.rockets.get(this.collisionPairs.second(k));
 
-                Vector2D collisionPoint = Collision.at(
-                        asteroid.position(),
-                        asteroid.collisionRadius(),
-                        rocket.position(),
-                        rocket.collisionRadius()
-                );
+            if (!rocket.alive())
+                continue;
 
-                if (collisionPoint != null) {
-                    asteroid.alive(false);
-                    rocket.alive(false);
-                    this.facade().soundManager().smallCollisionSound().play(collisionPoint.sub(this.cameraPosition()));
-                }
+            boolean inCollision = Collision.test(
+                    this.asteroids.x(asteroid),
+                    this.asteroids.y(asteroid),
+                    this.asteroids.radius(asteroid),
+                    rocket.position().x(),
+                    rocket.position().y(),
+                    rocket.collisionRadius(),
+                    this.contacts,
+                    GameWorld.smallCollisionContact
+            );
+
+            if (inCollision) {
+                this.asteroids.alive(asteroid, false);
+                rocket.alive(false);
             }
         }
     }
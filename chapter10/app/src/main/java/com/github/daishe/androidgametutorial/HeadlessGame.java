@@ -0,0 +1,88 @@
+package com.github.daishe.androidgametutorial;
+
+import android.support.annotation.NonNull;
+
+// Runs the game world without a view, a surface or the game thread, as fast as the CPU allows
+public class HeadlessGame {
+
+    public interface InputScript {
+
+        // Called before every simulation step, drives input through the simulate methods of the facade components
+        void apply(@NonNull GameFacade gameFacade, double time);
+
+    }
+
+    private GameFacade gameFacade;
+    private GameWorld world;
+    private InputScript inputScript;
+
+    private long time = 0;
+
+    // The facade must already be created with createHeadless and configured
+    public HeadlessGame(@NonNull GameFacade gameFacade, @NonNull InputScript inputScript) {
+        this.gameFacade = gameFacade;
+        this.inputScript = inputScript;
+        this.world = new GameWorld(gameFacade);
+    }
+
+    @NonNull
+    public static GameFacade makeFacade(long seed) {
+        GameFacade gameFacade = new GameFacade();
+        gameFacade.createHeadless(seed);
+        return gameFacade;
+    }
+
+    @NonNull
+    public GameFacade facade() {
+        return this.gameFacade;
+    }
+
+    @NonNull
+    public GameWorld world() {
+        return this.world;
+    }
+
+    public double time() {
+        return this.time / (double)Time.resolution();
+    }
+
+    public long timeAsLong() {
+        return this.time;
+    }
+
+    public void step(float timeShift) {
+        this.step(timeShift, Timer.convertToLongTime(timeShift));
+    }
+
+    public void step(long timeDelta) {
+        this.step(Timer.convertToFloatTime(timeDelta), timeDelta);
+    }
+
+    public void run(int steps, float timeShift) {
+        for (int i = 0; i < steps; ++i)
+            this.step(timeShift);
+    }
+
+    // Simulates the given span of game time in fixed steps, taking only as much real time as the CPU needs
+    public void runFor(long duration, long stepDuration) {
+        for (long steps = duration / stepDuration; steps > 0; --steps)
+            this.step(stepDuration);
+    }
+
+    // A manual facade clock follows the simulated time, so touch durations and timers agree with the world
+    private void step(float timeShift, long timeDelta) {
+        this.inputScript.apply(this.gameFacade, this.time());
+        this.world.captureInput();
+        this.world.update(timeShift);
+        this.time += timeDelta;
+
+        Clock clock = this.gameFacade.clock();
+        if (clock instanceof ManualClock)
+            ((ManualClock)clock).advance(timeDelta);
+    }
+
+    public void destroy() {
+        this.gameFacade.destroy();
+    }
+
+}
@@ -5,11 +5,23 @@ import android.support.annotation.NonNull;
 
 public class Image {
 
+    // The bitmap may be shared with other images, the image is then only the region starting at left and top
     private Bitmap data = null;
+    private int left = 0;
+    private int top = 0;
+
+    // Sprite sheet of pre-rotated frames, laid out in rows of the given number of columns
+    private int frames = 1;
+    private int columns = 1;
+    private int frameWidth = 0;
+    private int frameHeight = 0;
 
     private float radius = 0;
     private float diagonal = 0;
 
+    // Slot of the image in the image manager, render commands refer to images by it
+    private int id = -1;
+
     public Image() {
         this.reset();
     }
@@ -30,33 +42,115 @@ public class Image {
         return this.diagonal;
     }
 
+    public int id() {
+        return this.id;
+    }
+
+    public int id(int id) {
+        return this.id = id;
+    }
+
+    public int frames() {
+        return this.frames;
+    }
+
     public void reset() {
         this.data = null;
+        this.left = 0;
+        this.top = 0;
+        this.frames = 1;
+        this.columns = 1;
+        this.frameWidth = 0;
+        this.frameHeight = 0;
         this.radius = 0;
         this.diagonal = 0;
     }
 
     public void reset(@NonNull Bitmap from) {
-        this.data = from;
+        this.reset(from, 0, 0, 1, 1, from.getWidth(), from.getHeight(), from.getWidth(), from.getHeight());
+    }
+
+    // Frame k holds the image rotated by k full turns divided by frames, metrics are the ones of the unrotated image
+    public void reset(@NonNull Bitmap sheet, int left, int top, int frames, int columns, int frameWidth, int frameHeight, float width, float height) {
+        this.data = sheet;
+        this.left = left;
+        this.top = top;
+        this.frames = frames;
+        this.columns = columns;
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+        this.radius = Math.max(width, height) / 2;
+        this.diagonal = (float)Math.sqrt(width * width + height * height);
+    }
 
-        float x = this.data.getWidth();
-        float y = this.data.getHeight();
-        this.radius = Math.max(x, y) / 2;
-        this.diagonal = (float)Math.sqrt(x * x + y * y);
+    // Metrics only variant, drawing such image is a no-op
+    public void reset(float width, float height) {
+        this.data = null;
+        this.left = 0;
+        this.top = 0;
+        this.frames = 1;
+        this.columns = 1;
+        this.frameWidth = 0;
+        this.frameHeight = 0;
+        this.radius = Math.max(width, height) / 2;
+        this.diagonal = (float)Math.sqrt(width * width + height * height);
     }
 
     public void reset(@NonNull Image from) {
         this.data = from.data;
+        this.left = from.left;
+        this.top = from.top;
+        this.frames = from.frames;
+        this.columns = from.columns;
+        this.frameWidth = from.frameWidth;
+        this.frameHeight = from.frameHeight;
         this.radius = from.radius;
         this.diagonal = from.diagonal;
     }
 
     public void draw(GameCanvas gameCanvas, Vector2D at) {
-        gameCanvas.drawBitmap(this.data, at);
+        this.draw(gameCanvas, at, 1f, 0f, 1f);
     }
 
+    // With pre-rotated frames the nearest one is blitted without any rotation
     public void draw(GameCanvas gameCanvas, Vector2D at, float scale, float rotation, float alpha) {
-        gameCanvas.drawBitmap(this.data, at, scale, rotation, alpha);
+        if (this.data == null)
+            return;
+
+        int frame = this.frameOf(rotation);
+        int left = this.frameLeft(frame);
+        int top = this.frameTop(frame);
+        float frameRotation = (this.frames == 1) ? rotation : 0f;
+        gameCanvas.drawBitmap(this.data, left, top, left + this.frameWidth, top + this.frameHeight, at.x(), at.y(), scale, frameRotation, alpha);
+    }
+
+    // Batched variant, the image appears when the canvas sprites are flushed
+    public void drawSprite(GameCanvas gameCanvas, float x, float y, float scale, float rotation, float alpha) {
+        if (this.data == null)
+            return;
+
+        int frame = this.frameOf(rotation);
+        int left = this.frameLeft(frame);
+        int top = this.frameTop(frame);
+        float frameRotation = (this.frames == 1) ? rotation : 0f;
+        gameCanvas.drawSprite(this.data, left, top, left + this.frameWidth, top + this.frameHeight, x, y, scale, frameRotation, alpha);
+    }
+
+    private int frameLeft(int frame) {
+        return this.left + (frame % this.columns) * this.frameWidth;
+    }
+
+    private int frameTop(int frame) {
+        return this.top + (frame / this.columns) * this.frameHeight;
+    }
+
+    private int frameOf(float rotation) {
+        if (this.frames == 1)
+            return 0;
+
+        float turns = rotation / (float)(Math.PI * 2);
+        int frame = Math.round((turns - (float)Math.floor(turns)) * this.frames);
+        return (frame == this.frames) ? 0 : frame;
     }
 
 }
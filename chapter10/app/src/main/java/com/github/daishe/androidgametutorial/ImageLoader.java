@@ -15,6 +15,7 @@ public final class ImageLoader {
     private int resource = 0;
     private float alpha = 1.f;
     private float scale = 1.f;
+    private int rotations = 1;
 
     public ImageLoader() {
     }
@@ -48,30 +49,94 @@ public final class ImageLoader {
         return this;
     }
 
+    // Rasterises the image at the given number of evenly spaced angles into a single sprite sheet
+    @NonNull
+    public ImageLoader rotations(int rotations) {
+        this.rotations = Math.max(1, rotations);
+        return this;
+    }
+
     @NonNull
     public Image fromSvg() {
-        Drawable drawable = ContextCompat.getDrawable(this.context, this.resource);
-        Bitmap bitmap = Bitmap.createBitmap(
-                Math.round(drawable.getIntrinsicWidth() * this.scale),
-                Math.round(drawable.getIntrinsicHeight() * this.scale),
-                Bitmap.Config.ARGB_8888
-        );
+        Drawable drawable = this.loadDrawable();
+        Bitmap bitmap = Bitmap.createBitmap(this.regionWidth(drawable), this.regionHeight(drawable), Bitmap.Config.ARGB_8888);
+
+        Image result = new Image();
+        this.draw(drawable, new Canvas(bitmap), bitmap, 0, 0, result);
+        return result;
+    }
 
+    // Rasterises the image into a region of a shared bitmap, the region must be at least regionWidth by regionHeight
+    public void fromSvgInto(@NonNull Drawable drawable, @NonNull Canvas canvas, @NonNull Bitmap bitmap, int left, int top, @NonNull Image into) {
+        this.draw(drawable, canvas, bitmap, left, top, into);
+    }
+
+    @NonNull
+    public Drawable loadDrawable() {
+        Drawable drawable = ContextCompat.getDrawable(this.context, this.resource);
         if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
             drawable = (DrawableCompat.wrap(drawable)).mutate();
         }
+        return drawable;
+    }
+
+    public int regionWidth(@NonNull Drawable drawable) {
+        if (this.rotations == 1)
+            return this.width(drawable);
+        return this.columns() * this.cell(drawable);
+    }
 
-        Canvas canvas = new Canvas(bitmap);
-        drawable.setBounds(
-                0,
-                0,
-                canvas.getWidth(),
-                canvas.getHeight()
-        );
+    public int regionHeight(@NonNull Drawable drawable) {
+        if (this.rotations == 1)
+            return this.height(drawable);
+        return ((this.rotations + this.columns() - 1) / this.columns()) * this.cell(drawable);
+    }
+
+    private int width(Drawable drawable) {
+        return Math.round(drawable.getIntrinsicWidth() * this.scale);
+    }
+
+    private int height(Drawable drawable) {
+        return Math.round(drawable.getIntrinsicHeight() * this.scale);
+    }
+
+    // Every frame is a square cell large enough to hold the image at any angle
+    private int cell(Drawable drawable) {
+        int width = this.width(drawable);
+        int height = this.height(drawable);
+        return (int)Math.ceil(Math.sqrt(width * width + height * height));
+    }
+
+    private int columns() {
+        return (int)Math.ceil(Math.sqrt(this.rotations));
+    }
+
+    private void draw(Drawable drawable, Canvas canvas, Bitmap bitmap, int left, int top, Image into) {
+        int width = this.width(drawable);
+        int height = this.height(drawable);
+        drawable.setBounds(0, 0, width, height);
         drawable.setAlpha(Math.round(this.alpha * 255));
-        drawable.draw(canvas);
 
-        return new Image(bitmap);
+        if (this.rotations == 1) {
+            canvas.save();
+            canvas.translate(left, top);
+            drawable.draw(canvas);
+            canvas.restore();
+            into.reset(bitmap, left, top, 1, 1, width, height, width, height);
+            return;
+        }
+
+        int cell = this.cell(drawable);
+        int columns = this.columns();
+        for (int frame = 0; frame < this.rotations; ++frame) {
+            canvas.save();
+            canvas.translate(left + (frame % columns) * cell + cell / 2f, top + (frame / columns) * cell + cell / 2f);
+            canvas.rotate(360f * frame / this.rotations);
+            canvas.translate(-width / 2f, -height / 2f);
+            drawable.draw(canvas);
+            canvas.restore();
+        }
+        into.reset(bitmap, left, top, this.rotations, columns, cell, cell, width, height);
     }
 
     @NonNull
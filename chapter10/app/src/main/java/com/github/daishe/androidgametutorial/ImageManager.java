@@ -21,14 +21,44 @@ public final class ImageManager implements GameFacadeComponent {
     private Image asteroidLarge0 = new Image();
     private Image asteroidLarge1 = new Image();
 
+    private TextureAtlas atlas = null;
+
+    private float largestRadius = 0;
+
+    private Image[] images = {
+            this.ship,
+            this.asteroidTiny0, this.asteroidTiny1, this.asteroidTiny2, this.asteroidTiny3,
+            this.asteroidSmall0, this.asteroidSmall1, this.asteroidSmall2,
+            this.asteroidMedium0, this.asteroidMedium1,
+            this.asteroidLarge0, this.asteroidLarge1
+        };
+
     public ImageManager(@NonNull GameFacade gameFacade) {
         this.gameFacade = gameFacade;
+
+        for (int i = 0; i < this.images.length; ++i)
+            this.images[i].id(i);
     }
 
     public Image ship() {
         return this.ship;
     }
 
+    public Image image(int id) {
+        return this.images[id];
+    }
+
+    public float largestRadius() {
+        return this.largestRadius;
+    }
+
+    private float findLargestRadius() {
+        float result = 0;
+        for (Image image : this.images)
+            result = Math.max(result, image.radius());
+        return result;
+    }
+
     public Image randomAsteroid() {
         Random r = this.gameFacade.random();
         double randomGaussian = Math.abs(r.gaussian(2));
@@ -60,23 +90,64 @@ public final class ImageManager implements GameFacadeComponent {
         }
     }
 
+    // Stub metrics of images as if they were loaded on a screen of the given density, no bitmaps are created
+    public void createHeadless(float density) {
+        float scale = 0.04f * density;
+
+        this.ship.reset(367 * scale, 367 * scale);
+
+        this.asteroidTiny0.reset(226 * scale, 186 * scale);
+        this.asteroidTiny1.reset(186 * scale, 146 * scale);
+        this.asteroidTiny2.reset(186 * scale, 186 * scale);
+        this.asteroidTiny3.reset(146 * scale, 186 * scale);
+        this.asteroidSmall0.reset(226 * scale, 266 * scale);
+        this.asteroidSmall1.reset(225 * scale, 185 * scale);
+        this.asteroidSmall2.reset(226 * scale, 226 * scale);
+        this.asteroidMedium0.reset(266 * scale, 266 * scale);
+        this.asteroidMedium1.reset(306 * scale, 266 * scale);
+        this.asteroidLarge0.reset(386 * scale, 346 * scale);
+        this.asteroidLarge1.reset(386 * scale, 346 * scale);
+
+        this.largestRadius = this.findLargestRadius();
+    }
+
+    // Asteroids rotate all the time, so they may be loaded as sheets of pre-rotated frames
+    // With the texture atlas every image is a region of one shared bitmap
     @Override
     public void create(@NonNull Context context) {
         float scale = 0.04f;
+        int rotations = this.gameFacade.configuration().asteroidRotationFrames;
+
+        this.load(context, scale, 1, R.drawable.ic_ship, this.ship);
+
+        this.load(context, scale, rotations, R.drawable.ic_asteroid_tiny_0, this.asteroidTiny0);
+        this.load(context, scale, rotations, R.drawable.ic_asteroid_tiny_1, this.asteroidTiny1);
+        this.load(context, scale, rotations, R.drawable.ic_asteroid_tiny_2, this.asteroidTiny2);
+        this.load(context, scale, rotations, R.drawable.ic_asteroid_tiny_3, this.asteroidTiny3);
+        this.load(context, scale, rotations, R.drawable.ic_asteroid_small_0, this.asteroidSmall0);
+        this.load(context, scale, rotations, R.drawable.ic_asteroid_small_1, this.asteroidSmall1);
+        this.load(context, scale, rotations, R.drawable.ic_asteroid_small_2, this.asteroidSmall2);
+        this.load(context, scale, rotations, R.drawable.ic_asteroid_medium_0, this.asteroidMedium0);
+        this.load(context, scale, rotations, R.drawable.ic_asteroid_medium_1, this.asteroidMedium1);
+        this.load(context, scale, rotations, R.drawable.ic_asteroid_large_0, this.asteroidLarge0);
+        this.load(context, scale, rotations, R.drawable.ic_asteroid_large_1, this.asteroidLarge1);
+
+        if (this.atlas != null)
+            this.atlas.build();
+
+        this.largestRadius = this.findLargestRadius();
+    }
 
-        this.ship.reset(ImageLoader.with().context(context).scale(scale).fromSvg(R.drawable.ic_ship));
-
-        this.asteroidTiny0.reset(ImageLoader.with().context(context).scale(scale).fromSvg(R.drawable.ic_asteroid_tiny_0));
-        this.asteroidTiny1.reset(ImageLoader.with().context(context).scale(scale).fromSvg(R.drawable.ic_asteroid_tiny_1));
-        this.asteroidTiny2.reset(ImageLoader.with().context(context).scale(scale).fromSvg(R.drawable.ic_asteroid_tiny_2));
-        this.asteroidTiny3.reset(ImageLoader.with().context(context).scale(scale).fromSvg(R.drawable.ic_asteroid_tiny_3));
-        this.asteroidSmall0.reset(ImageLoader.with().context(context).scale(scale).fromSvg(R.drawable.ic_asteroid_small_0));
-        this.asteroidSmall1.reset(ImageLoader.with().context(context).scale(scale).fromSvg(R.drawable.ic_asteroid_small_1));
-        this.asteroidSmall2.reset(ImageLoader.with().context(context).scale(scale).fromSvg(R.drawable.ic_asteroid_small_2));
-        this.asteroidMedium0.reset(ImageLoader.with().context(context).scale(scale).fromSvg(R.drawable.ic_asteroid_medium_0));
-        this.asteroidMedium1.reset(ImageLoader.with().context(context).scale(scale).fromSvg(R.drawable.ic_asteroid_medium_1));
-        this.asteroidLarge0.reset(ImageLoader.with().context(context).scale(scale).fromSvg(R.drawable.ic_asteroid_large_0));
-        this.asteroidLarge1.reset(ImageLoader.with().context(context).scale(scale).fromSvg(R.drawable.ic_asteroid_large_1));
+    private void load(Context context, float scale, int rotations, int resource, Image into) {
+        ImageLoader loader = ImageLoader.with().context(context).scale(scale).rotations(rotations).resource(resource);
+        if (this.gameFacade.configuration().textureAtlas) {
+            if (this.atlas == null)
+                this.atlas = new TextureAtlas();
+            this.atlas.add(loader, into);
+        }
+        else {
+            into.reset(loader.fromSvg());
+        }
     }
 
     @Override
@@ -102,6 +173,9 @@ public final class ImageManager implements GameFacadeComponent {
         this.asteroidMedium1.reset();
         this.asteroidLarge0.reset();
         this.asteroidLarge1.reset();
+
+        this.atlas = null;
+        this.largestRadius = 0;
     }
 
 }
@@ -0,0 +1,88 @@
+package com.github.daishe.androidgametutorial;
+
+import android.support.annotation.NonNull;
+
+// Input state captured once at the start of a frame, reused by every simulation step and draw of that frame
+public class InputFrame {
+
+    private boolean touched = false;
+    private MutableVector2D touchPosition = Vector2D.fromNothing();
+    private long touchStartTime = 0;
+    private long touchDuration = 0;
+
+    private float yaw = 0;
+    private float pitch = 0;
+    private float roll = 0;
+    private MutableVector2D orientationVector = Vector2D.fromNothing();
+
+    private float screenScale = 1f;
+    private MutableVector2D touchGamePosition = Vector2D.fromNothing();
+
+    public InputFrame() {
+    }
+
+    // Reads the producers without locking, does not allocate
+    public void capture(@NonNull GameFacade gameFacade) {
+        gameFacade.touch().read(this);
+        gameFacade.orientation().read(this);
+
+        this.touchDuration = this.touched ? gameFacade.clock().now() - this.touchStartTime : 0;
+        this.screenScale = gameFacade.screen().scale();
+
+        float deviceRotationLimit = gameFacade.configuration().deviceRotationLimit;
+        this.orientationVector.setToCartesian(this.roll, -this.pitch)
+            .limitInPlace(deviceRotationLimit)
+            .divInPlace(deviceRotationLimit);
+    }
+
+    public boolean touched() {
+        return this.touched;
+    }
+
+    // Relative to the center of the view, in physical pixels
+    public Vector2D touchPosition() {
+        return this.touchPosition;
+    }
+
+    public long touchDuration() {
+        return this.touchDuration;
+    }
+
+    // Returned vector is reused, copy it to keep the value
+    public Vector2D touchGamePosition(@NonNull Vector2D cameraPosition) {
+        return this.touchGamePosition.setToCartesian(
+                this.touchPosition.x() / this.screenScale + cameraPosition.x(),
+                this.touchPosition.y() / this.screenScale + cameraPosition.y()
+            );
+    }
+
+    public float yaw() {
+        return this.yaw;
+    }
+
+    public float pitch() {
+        return this.pitch;
+    }
+
+    public float roll() {
+        return this.roll;
+    }
+
+    // Device tilt mapped to the game plane, limited to the unit circle
+    public Vector2D orientationVector() {
+        return this.orientationVector;
+    }
+
+    void touch(boolean touched, float x, float y, long touchStartTime) {
+        this.touched = touched;
+        this.touchPosition.setToCartesian(x, y);
+        this.touchStartTime = touchStartTime;
+    }
+
+    void orientation(float yaw, float pitch, float roll) {
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.roll = roll;
+    }
+
+}
@@ -0,0 +1,260 @@
+package com.github.daishe.androidgametutorial;
+
+import java.util.Arrays;
+
+public class KineticCollisionScheduler {
+
+    // Widens predicted contact windows to cover rounding of the per-tick position integration
+    private static final float contactMargin = 2f;
+
+    private boolean initialized = false;
+
+    private int[] generation = new int[0];
+
+    // Binary min-heap of predicted contacts ordered by the contact start time
+    private int events = 0;
+    private double[] eventStart = new double[0];
+    private double[] eventEnd = new double[0];
+    private int[] eventFirst = new int[0];
+    private int[] eventSecond = new int[0];
+    private int[] eventFirstGeneration = new int[0];
+    private int[] eventSecondGeneration = new int[0];
+    private int compactionThreshold = 1024;
+
+    // Contacts which window already started, tested every tick until it ends
+    private int ongoing = 0;
+    private double[] ongoingEnd = new double[0];
+    private int[] ongoingFirst = new int[0];
+    private int[] ongoingSecond = new int[0];
+    private int[] ongoingFirstGeneration = new int[0];
+    private int[] ongoingSecondGeneration = new int[0];
+
+    public KineticCollisionScheduler() {
+    }
+
+    public boolean initialized() {
+        return this.initialized;
+    }
+
+    public int pendingEvents() {
+        return this.events;
+    }
+
+    public void reset() {
+        this.initialized = false;
+        this.events = 0;
+        this.ongoing = 0;
+    }
+
+    public void scheduleAll(AsteroidField asteroids, double time) {
+        this.reset();
+        this.ensureAsteroidCapacity(asteroids.size());
+        for (int i = 0; i < asteroids.size(); ++i) {
+            ++this.generation[i];
+            for (int j = 0; j < i; ++j)
+                this.predict(asteroids, i, j, time);
+        }
+        this.initialized = true;
+    }
+
+    // Invalidates all predictions of the given asteroid and predicts its contacts with every other living asteroid
+    public void asteroidCreated(AsteroidField asteroids, int index, double time) {
+        if (!this.initialized)
+            return;
+
+        this.ensureAsteroidCapacity(asteroids.size());
+        ++this.generation[index];
+        for (int j = 0; j < asteroids.size(); ++j)
+            if (j != index && asteroids.alive(j))
+                this.predict(asteroids, index, j, time);
+    }
+
+    // Collects pairs (lower index, higher index) of asteroids which predicted contact window covers the given time
+    public void collectPairs(double time, CollisionPairs out) {
+        while (this.events > 0 && this.eventStart[0] <= time) {
+            if (this.valid(this.eventFirst[0], this.eventFirstGeneration[0], this.eventSecond[0], this.eventSecondGeneration[0]))
+                this.addOngoing(0);
+            this.removeTopEvent();
+        }
+
+        int kept = 0;
+        for (int k = 0; k < this.ongoing; ++k) {
+            if (this.ongoingEnd[k] < time || !this.valid(this.ongoingFirst[k], this.ongoingFirstGeneration[k], this.ongoingSecond[k], this.ongoingSecondGeneration[k]))
+                continue;
+
+            out.add(this.ongoingFirst[k], this.ongoingSecond[k]);
+
+            this.ongoingEnd[kept] = this.ongoingEnd[k];
+            this.ongoingFirst[kept] = this.ongoingFirst[k];
+            this.ongoingSecond[kept] = this.ongoingSecond[k];
+            this.ongoingFirstGeneration[kept] = this.ongoingFirstGeneration[k];
+            this.ongoingSecondGeneration[kept] = this.ongoingSecondGeneration[k];
+            ++kept;
+        }
+        this.ongoing = kept;
+    }
+
+    // Asteroids move with constant velocity, so the contact window is the solution of |p + v * t| < r
+    private void predict(AsteroidField asteroids, int a, int b, double time) {
+        float px = asteroids.x(a) - asteroids.x(b);
+        float py = asteroids.y(a) - asteroids.y(b);
+        float vx = asteroids.velocityX(a) - asteroids.velocityX(b);
+        float vy = asteroids.velocityY(a) - asteroids.velocityY(b);
+        float radiusSum = asteroids.radius(a) + asteroids.radius(b) + KineticCollisionScheduler.contactMargin;
+
+        double qa = (double)vx * vx + (double)vy * vy;
+        double qb = 2 * ((double)px * vx + (double)py * vy);
+        double qc = (double)px * px + (double)py * py - (double)radiusSum * radiusSum;
+
+        double start;
+        double end;
+        if (qa == 0) {
+            if (qc >= 0)
+                return;
+            start = 0;
+            end = Double.POSITIVE_INFINITY;
+        }
+        else {
+            double discriminant = qb * qb - 4 * qa * qc;
+            if (discriminant <= 0)
+                return;
+            double root = Math.sqrt(discriminant);
+            start = (-qb - root) / (2 * qa);
+            end = (-qb + root) / (2 * qa);
+            if (end < 0)
+                return;
+        }
+
+        this.addEvent(time + Math.max(0, start), time + end, Math.min(a, b), Math.max(a, b));
+    }
+
+    private boolean valid(int first, int firstGeneration, int second, int secondGeneration) {
+        return this.generation[first] == firstGeneration && this.generation[second] == secondGeneration;
+    }
+
+    private void ensureAsteroidCapacity(int capacity) {
+        if (this.generation.length < capacity)
+            this.generation = Arrays.copyOf(this.generation, capacity);
+    }
+
+    private void addEvent(double start, double end, int first, int second) {
+        if (this.events == this.eventStart.length)
+            this.growEvents();
+
+        int k = this.events++;
+        this.eventStart[k] = start;
+        this.eventEnd[k] = end;
+        this.eventFirst[k] = first;
+        this.eventSecond[k] = second;
+        this.eventFirstGeneration[k] = this.generation[first];
+        this.eventSecondGeneration[k] = this.generation[second];
+        this.siftUp(k);
+
+        if (this.events > this.compactionThreshold)
+            this.compactEvents();
+    }
+
+    private void removeTopEvent() {
+        --this.events;
+        if (this.events > 0) {
+            this.moveEvent(this.events, 0);
+            this.siftDown(0);
+        }
+    }
+
+    // Far future predictions of recreated asteroids are never popped, so stale ones are dropped in bulk
+    private void compactEvents() {
+        int kept = 0;
+        for (int k = 0; k < this.events; ++k)
+            if (this.valid(this.eventFirst[k], this.eventFirstGeneration[k], this.eventSecond[k], this.eventSecondGeneration[k]))
+                this.moveEvent(k, kept++);
+        this.events = kept;
+
+        for (int k = this.events / 2 - 1; k >= 0; --k)
+            this.siftDown(k);
+
+        this.compactionThreshold = Math.max(1024, this.events * 2);
+    }
+
+    private void addOngoing(int event) {
+        if (this.ongoing == this.ongoingEnd.length) {
+            int capacity = Math.max(16, this.ongoing * 2);
+            this.ongoingEnd = Arrays.copyOf(this.ongoingEnd, capacity);
+            this.ongoingFirst = Arrays.copyOf(this.ongoingFirst, capacity);
+            this.ongoingSecond = Arrays.copyOf(this.ongoingSecond, capacity);
+            this.ongoingFirstGeneration = Arrays.copyOf(this.ongoingFirstGeneration, capacity);
+            this.ongoingSecondGeneration = Arrays.copyOf(this.ongoingSecondGeneration, capacity);
+        }
+
+        int k = this.ongoing++;
+        this.ongoingEnd[k] = this.eventEnd[event];
+        this.ongoingFirst[k] = this.eventFirst[event];
+        this.ongoingSecond[k] = this.eventSecond[event];
+        this.ongoingFirstGeneration[k] = this.eventFirstGeneration[event];
+        this.ongoingSecondGeneration[k] = this.eventSecondGeneration[event];
+    }
+
+    private void growEvents() {
+        int capacity = Math.max(64, this.events * 2);
+        this.eventStart = Arrays.copyOf(this.eventStart, capacity);
+        this.eventEnd = Arrays.copyOf(this.eventEnd, capacity);
+        this.eventFirst = Arrays.copyOf(this.eventFirst, capacity);
+        this.eventSecond = Arrays.copyOf(this.eventSecond, capacity);
+        this.eventFirstGeneration = Arrays.copyOf(this.eventFirstGeneration, capacity);
+        this.eventSecondGeneration = Arrays.copyOf(this.eventSecondGeneration, capacity);
+    }
+
+    private void siftUp(int k) {
+        while (k > 0) {
+            int parent = (k - 1) / 2;
+            if (this.eventStart[parent] <= this.eventStart[k])
+                return;
+            this.swapEvents(parent, k);
+            k = parent;
+        }
+    }
+
+    private void siftDown(int k) {
+        while (true) {
+            int smallest = k;
+            int left = k * 2 + 1;
+            int right = left + 1;
+            if (left < this.events && this.eventStart[left] < this.eventStart[smallest])
+                smallest = left;
+            if (right < this.events && this.eventStart[right] < this.eventStart[smallest])
+                smallest = right;
+            if (smallest == k)
+                return;
+            this.swapEvents(smallest, k);
+            k = smallest;
+        }
+    }
+
+    private void moveEvent(int from, int to) {
+        this.eventStart[to] = this.eventStart[from];
+        this.eventEnd[to] = this.eventEnd[from];
+        this.eventFirst[to] = this.eventFirst[from];
+        this.eventSecond[to] = this.eventSecond[from];
+        this.eventFirstGeneration[to] = this.eventFirstGeneration[from];
+        this.eventSecondGeneration[to] = this.eventSecondGeneration[from];
+    }
+
+    private void swapEvents(int a, int b) {
+        double start = this.eventStart[a];
+        double end = this.eventEnd[a];
+        int first = this.eventFirst[a];
+        int second = this.eventSecond[a];
+        int firstGeneration = this.eventFirstGeneration[a];
+        int secondGeneration = this.eventSecondGeneration[a];
+
+        this.moveEvent(b, a);
+
+        this.eventStart[b] = start;
+        this.eventEnd[b] = end;
+        this.eventFirst[b] = first;
+        this.eventSecond[b] = second;
+        this.eventFirstGeneration[b] = firstGeneration;
+        this.eventSecondGeneration[b] = secondGeneration;
+    }
+
+}
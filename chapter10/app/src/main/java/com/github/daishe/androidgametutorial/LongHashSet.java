@@ -0,0 +1,104 @@
+package com.github.daishe.androidgametutorial;
+
+import java.util.Arrays;
+
+public class LongHashSet {
+
+    private static final long EMPTY = -1L;
+
+    private long[] slots;
+    private int count = 0;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int initialCapacity) {
+        this.slots = newSlots(Integer.highestOneBit(Math.max(8, initialCapacity)) * 2);
+    }
+
+    public int size() {
+        return this.count;
+    }
+
+    public int capacity() {
+        return this.slots.length;
+    }
+
+    // Slots are iterated from 0 to capacity() - 1, empty slots hold a negative value
+    public long slot(int index) {
+        return this.slots[index];
+    }
+
+    public boolean contains(long value) {
+        int mask = this.slots.length - 1;
+        for (int i = indexOf(value, mask); this.slots[i] != EMPTY; i = (i + 1) & mask)
+            if (this.slots[i] == value)
+                return true;
+        return false;
+    }
+
+    // Only non negative values may be stored
+    public boolean add(long value) {
+        if ((this.count + 1) * 2 > this.slots.length)
+            this.rehash(this.slots.length * 2);
+
+        int mask = this.slots.length - 1;
+        int i = indexOf(value, mask);
+        for (; this.slots[i] != EMPTY; i = (i + 1) & mask)
+            if (this.slots[i] == value)
+                return false;
+
+        this.slots[i] = value;
+        ++this.count;
+        return true;
+    }
+
+    public boolean remove(long value) {
+        int mask = this.slots.length - 1;
+        int i = indexOf(value, mask);
+        for (; this.slots[i] != value; i = (i + 1) & mask)
+            if (this.slots[i] == EMPTY)
+                return false;
+
+        // Backward shift deletion keeps linear probing chains intact without tombstones
+        int hole = i;
+        for (int j = (hole + 1) & mask; this.slots[j] != EMPTY; j = (j + 1) & mask) {
+            int home = indexOf(this.slots[j], mask);
+            boolean movable = (j > hole) ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                this.slots[hole] = this.slots[j];
+                hole = j;
+            }
+        }
+        this.slots[hole] = EMPTY;
+        --this.count;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(this.slots, EMPTY);
+        this.count = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = this.slots;
+        this.slots = newSlots(capacity);
+        this.count = 0;
+        for (long value : old)
+            if (value != EMPTY)
+                this.add(value);
+    }
+
+    private static long[] newSlots(int capacity) {
+        long[] result = new long[capacity];
+        Arrays.fill(result, EMPTY);
+        return result;
+    }
+
+    private static int indexOf(long value, int mask) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ (h >>> 32)) & mask;
+    }
+
+}
@@ -35,14 +35,22 @@ public class MainActivity extends AppCompatActivity {
     protected void onResume() {
         super.onResume();
         this.gameFacade.resume();
+        this.gameThread.paused(false);
     }
 
     @Override
     protected void onPause() {
         super.onPause();
+        this.gameThread.paused(true);
         this.gameFacade.pause();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        this.gameThread.interrupt();
+    }
+
     @NonNull
     private GameFacade makeGameFacade() {
         GameFacade gameFacade = new GameFacade();
@@ -0,0 +1,35 @@
+package com.github.daishe.androidgametutorial;
+
+// Moves only when told to, so simulated time is independent from the wall clock
+public final class ManualClock implements Clock {
+
+    private volatile long now;
+
+    public ManualClock() {
+        this(0);
+    }
+
+    public ManualClock(long now) {
+        this.now = now;
+    }
+
+    @Override
+    public long now() {
+        return this.now;
+    }
+
+    // Clock readers expect monotonic time, so setting an earlier time point leaves the clock where it is
+    public synchronized long set(long now) {
+        return this.advanceTo(now);
+    }
+
+    // Atomic, so threads sharing the clock never move it back to an older deadline
+    public synchronized long advanceTo(long timePoint) {
+        return this.now = Math.max(this.now, timePoint);
+    }
+
+    public synchronized long advance(long timeDelta) {
+        return this.now += Math.max(0, timeDelta);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.github.daishe.androidgametutorial;
+
+public final class MonotonicClock implements Clock {
+
+    public MonotonicClock() {
+    }
+
+    @Override
+    public long now() {
+        return Time.now();
+    }
+
+}
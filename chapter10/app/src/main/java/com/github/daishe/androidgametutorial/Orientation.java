@@ -15,21 +15,38 @@ public final class Orientation implements GameFacadeComponent {
         this.orientationState = new OrientationState(gameFacade);
     }
 
+    // Allocates a new snapshot, gameplay code reads the InputFrame of the world instead
     public OrientationSnapshot snapshot() {
         return this.orientationState.relativeSnapshot();
     }
 
+    public void read(@NonNull InputFrame frame) {
+        this.orientationState.readRelative(frame);
+    }
+
+    // Orientation is then driven only by simulate calls
+    public void createHeadless() {
+        this.sensorManager = null;
+        this.sensor = null;
+    }
+
+    public void simulate(float yaw, float pitch, float roll) {
+        this.orientationState.simulate(yaw, pitch, roll);
+    }
+
     public void create(@NonNull Context context) {
         this.sensorManager = (SensorManager)context.getSystemService(Context.SENSOR_SERVICE);
         this.sensor = this.sensorManager.getDefaultSensor(Sensor.TYPE_GAME_ROTATION_VECTOR);
     }
 
     public void resume() {
-        this.sensorManager.registerListener(this.orientationState, this.sensor, SensorManager.SENSOR_DELAY_GAME);
+        if (this.sensorManager != null)
+            this.sensorManager.registerListener(this.orientationState, this.sensor, SensorManager.SENSOR_DELAY_GAME);
     }
 
     public void pause() {
-        this.sensorManager.unregisterListener(this.orientationState);
+        if (this.sensorManager != null)
+            this.sensorManager.unregisterListener(this.orientationState);
         this.orientationState.reset();
     }
 
@@ -6,48 +6,93 @@ import android.hardware.SensorEventListener;
 import android.hardware.SensorManager;
 import android.support.annotation.NonNull;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-
 public class OrientationState implements SensorEventListener {
 
     private GameFacade gameFacade;
 
-    private AtomicBoolean initialized = new AtomicBoolean(false);
+    // Written by the sensor thread (or simulate calls) under the monitor, read without locking
+    // so all three angles always come from the same sensor event
+    private SeqLock lock = new SeqLock();
+
+    private volatile boolean initialized = false;
 
-    private AtomicFloat initialYaw = new AtomicFloat();
-    private AtomicFloat initialPitch = new AtomicFloat();
-    private AtomicFloat initialRoll = new AtomicFloat();
+    private volatile float initialYaw = 0;
+    private volatile float initialPitch = 0;
+    private volatile float initialRoll = 0;
 
-    private AtomicFloat currentYaw = new AtomicFloat();
-    private AtomicFloat currentPitch = new AtomicFloat();
-    private AtomicFloat currentRoll = new AtomicFloat();
+    private volatile float currentYaw = 0;
+    private volatile float currentPitch = 0;
+    private volatile float currentRoll = 0;
 
     public OrientationState(@NonNull GameFacade gameFacade) {
         this.gameFacade = gameFacade;
     }
 
     public OrientationSnapshot relativeSnapshot() {
-        return this.makeSnapshot(
-                this.currentYaw.get() - this.initialYaw.get(),
-                this.currentPitch.get() - this.initialPitch.get(),
-                this.currentRoll.get() - this.initialRoll.get()
-            );
+        InputFrame frame = new InputFrame();
+        this.readRelative(frame);
+        return this.makeSnapshot(frame.yaw(), frame.pitch(), frame.roll());
     }
 
     public OrientationSnapshot initialStateSnapshot() {
-        return this.makeSnapshot(this.initialYaw.get(), this.initialPitch.get(), this.initialRoll.get());
+        float yaw, pitch, roll;
+        int sequence;
+        do {
+            sequence = this.lock.beginRead();
+            yaw = this.initialYaw;
+            pitch = this.initialPitch;
+            roll = this.initialRoll;
+        } while (this.lock.retryRead(sequence));
+        return this.makeSnapshot(yaw, pitch, roll);
     }
 
     public OrientationSnapshot currentStateSnapshot() {
-        return this.makeSnapshot(this.currentYaw.get(), this.currentPitch.get(), this.currentRoll.get());
+        float yaw, pitch, roll;
+        int sequence;
+        do {
+            sequence = this.lock.beginRead();
+            yaw = this.currentYaw;
+            pitch = this.currentPitch;
+            roll = this.currentRoll;
+        } while (this.lock.retryRead(sequence));
+        return this.makeSnapshot(yaw, pitch, roll);
+    }
+
+    // Orientation relative to the initial state, without locking and allocation
+    public void readRelative(@NonNull InputFrame frame) {
+        float yaw, pitch, roll;
+        int sequence;
+        do {
+            sequence = this.lock.beginRead();
+            yaw = this.currentYaw - this.initialYaw;
+            pitch = this.currentPitch - this.initialPitch;
+            roll = this.currentRoll - this.initialRoll;
+        } while (this.lock.retryRead(sequence));
+        frame.orientation(yaw, pitch, roll);
     }
 
     public boolean ready() {
-        return this.initialized.get();
+        return this.initialized;
+    }
+
+    public synchronized void reset() {
+        this.lock.beginWrite();
+        this.initialized = false;
+        this.lock.endWrite();
     }
 
-    public void reset() {
-        this.initialized.set(false);
+    // Sets orientation relative to a neutral initial state, as if it was reported by the sensor
+    public synchronized void simulate(float yaw, float pitch, float roll) {
+        this.lock.beginWrite();
+        this.initialYaw = 0;
+        this.initialPitch = 0;
+        this.initialRoll = 0;
+        this.initialized = true;
+
+        this.currentYaw = yaw;
+        this.currentPitch = pitch;
+        this.currentRoll = roll;
+        this.lock.endWrite();
     }
 
     @Override
@@ -66,20 +111,22 @@ public class OrientationState implements SensorEventListener {
         }
     }
 
-    private void setSensorOutput(float yaw, float pitch, float roll) {
+    private synchronized void setSensorOutput(float yaw, float pitch, float roll) {
         yaw = (!Float.isNaN(yaw)) ? yaw : 0;
         pitch = (!Float.isNaN(pitch)) ? pitch : 0;
         roll = (!Float.isNaN(roll)) ? roll : 0;
 
-        if (!this.initialized.get() && (yaw != 0 || pitch != 0 || roll != 0)) {
-            this.initialYaw.set(yaw);
-            this.initialPitch.set(pitch);
-            this.initialRoll.set(roll);
-            this.initialized.set(true);
+        this.lock.beginWrite();
+        if (!this.initialized && (yaw != 0 || pitch != 0 || roll != 0)) {
+            this.initialYaw = yaw;
+            this.initialPitch = pitch;
+            this.initialRoll = roll;
+            this.initialized = true;
         }
-        this.currentYaw.set(yaw);
-        this.currentPitch.set(pitch);
-        this.currentRoll.set(roll);
+        this.currentYaw = yaw;
+        this.currentPitch = pitch;
+        this.currentRoll = roll;
+        this.lock.endWrite();
     }
 
     private OrientationSnapshot makeSnapshot(float yaw, float pitch, float roll) {
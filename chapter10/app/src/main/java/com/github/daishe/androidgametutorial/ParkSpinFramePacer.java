@@ -0,0 +1,39 @@
+package com.github.daishe.androidgametutorial;
+
+import java.util.concurrent.locks.LockSupport;
+
+// Parks until shortly before the deadline and yields for the rest, trading a little CPU time for precise wakeups
+public class ParkSpinFramePacer extends DeadlineFramePacer {
+
+    private static final long defaultSpinTime = 1000000;
+
+    private long spinTime;
+
+    public ParkSpinFramePacer() {
+        this(new MonotonicClock(), ParkSpinFramePacer.defaultSpinTime);
+    }
+
+    public ParkSpinFramePacer(Clock clock) {
+        this(clock, ParkSpinFramePacer.defaultSpinTime);
+    }
+
+    public ParkSpinFramePacer(Clock clock, long spinTime) {
+        super(clock);
+        this.spinTime = spinTime;
+    }
+
+    @Override
+    protected long waitUntil(long deadline, long frameDuration) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - this.now()) > this.spinTime) {
+            LockSupport.parkNanos(remaining - this.spinTime);
+            if (Thread.interrupted())
+                throw new InterruptedException();
+        }
+
+        while (deadline - this.now() > 0)
+            Thread.yield();
+        return deadline;
+    }
+
+}
@@ -7,6 +7,12 @@ public class PlayerShip {
     private MutableVector2D position = Vector2D.fromNothing();
     private MutableVector2D velocity = Vector2D.fromNothing();
 
+    private MutableVector2D previousPosition = Vector2D.fromNothing();
+    private MutableVector2D drawPosition = Vector2D.fromNothing();
+
+    private TrailBuffer trail = new TrailBuffer(1);
+    private float trailTime = 0;
+
     private Image shipImage;
 
     private boolean alive = false;
@@ -19,6 +25,13 @@ public class PlayerShip {
 
         this.velocity.setToCartesian(0, 0);
         this.position.setToCartesian(0, 0);
+        this.previousPosition.setToCartesian(0, 0);
+
+        int trailLength = world.facade().configuration().playerShipTrailCapacity;
+        if (this.trail.capacity() != trailLength)
+            this.trail = new TrailBuffer(trailLength);
+        this.trail.clear();
+        this.trailTime = 0;
 
         this.shipImage = world.facade().imageManager().ship();
 
@@ -59,6 +72,26 @@ public class PlayerShip {
         return this.velocity.setTo(velocity);
     }
 
+    public Vector2D previousPosition() {
+        return this.previousPosition;
+    }
+
+    public Image image() {
+        return this.shipImage;
+    }
+
+    public TrailBuffer trail() {
+        return this.trail;
+    }
+
+    // Position interpolated between the last two simulation steps, reused between calls
+    public Vector2D drawPosition(GameCanvas gameCanvas) {
+        return this.drawPosition.setToCartesian(
+                gameCanvas.interpolate(this.previousPosition.x(), this.position.x()),
+                gameCanvas.interpolate(this.previousPosition.y(), this.position.y())
+            );
+    }
+
     public float collisionRadius() {
         return this.shipImage.radius();
     }
@@ -66,13 +99,28 @@ public class PlayerShip {
     public void update(float timeShift) {
         Configuration configuration = this.world.facade().configuration();
 
-        Vector2D velocityIncrement = this.world.orientationVector()
-            .mul(timeShift * configuration.playerShipMaxAcceleration);
+        this.previousPosition.setTo(this.position);
+
+        Vector2D orientation = this.world.input().orientationVector();
+        float velocityIncrement = timeShift * configuration.playerShipMaxAcceleration;
         this.velocity
-            .addInPlace(velocityIncrement)
+            .setToCartesian(
+                this.velocity.x() + orientation.x() * velocityIncrement,
+                this.velocity.y() + orientation.y() * velocityIncrement
+            )
             .limitInPlace(configuration.playerShipMaxVelocity);
 
-        this.position.addInPlace(this.velocity.mul(timeShift));
+        this.position.setToCartesian(
+                this.position.x() + this.velocity.x() * timeShift,
+                this.position.y() + this.velocity.y() * timeShift
+            );
+
+        // Positions are sampled at a fixed interval of game time, so the trail does not depend on the frame rate
+        this.trailTime += timeShift;
+        if (this.trailTime >= configuration.playerShipTrailSampleInterval) {
+            this.trailTime = Math.min(this.trailTime - configuration.playerShipTrailSampleInterval, configuration.playerShipTrailSampleInterval);
+            this.trail.push(this.position.x(), this.position.y());
+        }
     }
 
     public void draw(GameCanvas gameCanvas) {
@@ -80,21 +128,33 @@ public class PlayerShip {
             return;
 
         Configuration configuration = this.world.facade().configuration();
+        Vector2D drawPosition = this.drawPosition(gameCanvas);
 
         if (configuration.drawPhysicsDebugInfo) {
-            gameCanvas.drawDebugVelocity(this.position, this.velocity);
-            gameCanvas.drawDebugAcceleration(this.position, this.world.orientationVector().mul(this.world.facade().configuration().playerShipMaxAcceleration));
-            gameCanvas.drawDebugCollisionBox(this.position, this.shipImage.radius());
+            gameCanvas.drawDebugVelocity(drawPosition, this.velocity);
+            gameCanvas.drawDebugAcceleration(drawPosition, this.world.input().orientationVector().mul(this.world.facade().configuration().playerShipMaxAcceleration));
+            gameCanvas.drawDebugCollisionBox(drawPosition, this.shipImage.radius());
         }
 
-        for (int i = configuration.numberOfPlayerShipTrails - 1; i > -1; --i) {
-            Vector2D pos = Vector2D.from(this.position)
-                    .subInPlace(this.velocity.mul(configuration.playerShipTrailOffset / configuration.playerShipMaxVelocity * i));
+        int trails = this.world.facade().qualityGovernor().playerShipTrails();
+        PlayerShip.draw(gameCanvas, configuration, trails, this.shipImage, drawPosition, this.trail);
+    }
+
+    // Uses only the passed state, so it may also draw a snapshot of the ship
+    // Copy i of the ship is drawn where the ship was i trail offsets of full speed travel ago, as far as the sampled
+    // positions reach. Copies share the sprite batch, so the whole trail reaches the canvas in one call
+    public static void draw(GameCanvas gameCanvas, Configuration configuration, int trails, Image shipImage, Vector2D at, TrailBuffer trail) {
+        float samplesPerCopy = configuration.playerShipTrailOffset / configuration.playerShipMaxVelocity / configuration.playerShipTrailSampleInterval;
+        for (int i = trails - 1; i > 0; --i) {
+            int age = Math.round(i * samplesPerCopy);
+            if (age >= trail.size())
+                continue;
 
             float scale = 1f + configuration.playerShipTrailScaleFactor * i;
-            float alpha = (i != 0) ? (configuration.playerShipTrailAlphaFactor / i) : 1f;
-            this.shipImage.draw(gameCanvas, pos, scale, 0f, alpha);
+            float alpha = configuration.playerShipTrailAlphaFactor / i;
+            gameCanvas.submitSprite(shipImage, trail.x(age), trail.y(age), scale, 0f, alpha);
         }
+        gameCanvas.submitSprite(shipImage, at.x(), at.y(), 1f, 0f, 1f);
     }
 
 }
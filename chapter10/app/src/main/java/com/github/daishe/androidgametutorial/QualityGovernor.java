@@ -0,0 +1,132 @@
+package com.github.daishe.androidgametutorial;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+// Steps rendering and simulation quality down when frames do not fit the budget, and back up when there is headroom
+public final class QualityGovernor implements GameFacadeComponent {
+
+    public static final int lowestLevel = 0;
+    public static final int highestLevel = 3;
+
+    // Indexed by level
+    private static final float[] asteroidsFractions = { 0.35f, 0.5f, 0.75f, 1f };
+    private static final int[] offScreenUpdateIntervals = { 4, 2, 1, 1 };
+
+    private GameFacade gameFacade;
+
+    private volatile int level = QualityGovernor.highestLevel;
+
+    private long lastEvaluationTimePoint = 0;
+    private long evaluatedUpdates = 0;
+    private long evaluatedDraws = 0;
+    private int overBudgetEvaluations = 0;
+    private int underBudgetEvaluations = 0;
+
+    private FrameTimeHistogram histogram = new FrameTimeHistogram();
+
+    public QualityGovernor(@NonNull GameFacade gameFacade) {
+        this.gameFacade = gameFacade;
+    }
+
+    public int level() {
+        return this.level;
+    }
+
+    public int level(int level) {
+        return this.level = Math.max(QualityGovernor.lowestLevel, Math.min(QualityGovernor.highestLevel, level));
+    }
+
+    public int playerShipTrails() {
+        int trails = this.gameFacade.configuration().numberOfPlayerShipTrails;
+        if (this.level == QualityGovernor.highestLevel)
+            return trails;
+        return Math.min(trails, Math.max(1, this.level + 1));
+    }
+
+    public boolean antiAlias() {
+        return this.level > QualityGovernor.lowestLevel + 1;
+    }
+
+    public int asteroidsLimit() {
+        long asteroidsLimit = this.gameFacade.configuration().asteroidsLimit;
+        return (int)Math.ceil(asteroidsLimit * QualityGovernor.asteroidsFractions[this.level]);
+    }
+
+    // Off-screen asteroids are updated only every that many simulation steps
+    public int offScreenUpdateInterval() {
+        return QualityGovernor.offScreenUpdateIntervals[this.level];
+    }
+
+    // Compares the work time of frames since the previous evaluation with the frame budget
+    // Quality goes down after a couple of bad evaluations and up only after a longer series of good ones, so it does not oscillate
+    public void evaluate(long timePoint, long frameBudget, boolean pipelined) {
+        Configuration configuration = this.gameFacade.configuration();
+        if (!configuration.adaptiveQuality)
+            return;
+
+        long interval = Timer.convertToLongTime(configuration.qualityEvaluationInterval);
+        if (timePoint - this.lastEvaluationTimePoint < interval)
+            return;
+        this.lastEvaluationTimePoint = timePoint;
+
+        FrameTimings frameTimings = this.gameFacade.frameTimings();
+        long update = this.p95Since(frameTimings, FrameTimings.Metric.UPDATE, this.evaluatedUpdates);
+        long draw = this.p95Since(frameTimings, FrameTimings.Metric.DRAW, this.evaluatedDraws);
+        this.evaluatedUpdates = frameTimings.recorded(FrameTimings.Metric.UPDATE);
+        this.evaluatedDraws = frameTimings.recorded(FrameTimings.Metric.DRAW);
+
+        // Threads of the pipelined mode work in parallel, so only the slower one limits the frame rate
+        long work = pipelined ? Math.max(update, draw) : update + draw;
+
+        if (work > frameBudget * configuration.qualityStepDownLoad) {
+            this.underBudgetEvaluations = 0;
+            if (++this.overBudgetEvaluations >= configuration.qualityStepDownEvaluations) {
+                this.overBudgetEvaluations = 0;
+                this.level(this.level - 1);
+            }
+        }
+        else if (work < frameBudget * configuration.qualityStepUpLoad) {
+            this.overBudgetEvaluations = 0;
+            if (++this.underBudgetEvaluations >= configuration.qualityStepUpEvaluations) {
+                this.underBudgetEvaluations = 0;
+                this.level(this.level + 1);
+            }
+        }
+        else {
+            this.overBudgetEvaluations = 0;
+            this.underBudgetEvaluations = 0;
+        }
+    }
+
+    private long p95Since(FrameTimings frameTimings, FrameTimings.Metric metric, long since) {
+        return frameTimings.histogram(metric, since, this.histogram).p95();
+    }
+
+    @Override
+    public void create(@NonNull Context context) {
+        this.create();
+    }
+
+    public void create() {
+        this.level = QualityGovernor.highestLevel;
+        this.lastEvaluationTimePoint = 0;
+        this.evaluatedUpdates = 0;
+        this.evaluatedDraws = 0;
+        this.overBudgetEvaluations = 0;
+        this.underBudgetEvaluations = 0;
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+}
@@ -56,6 +56,10 @@ public final class Random implements GameFacadeComponent {
         this.randomImpl = new java.util.Random();
     }
 
+    public void create(long seed) {
+        this.randomImpl = new java.util.Random(seed);
+    }
+
     @Override
     public void pause() {
     }
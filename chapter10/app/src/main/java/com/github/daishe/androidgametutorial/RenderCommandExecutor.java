@@ -0,0 +1,92 @@
+package com.github.daishe.androidgametutorial;
+
+import android.support.annotation.NonNull;
+
+// Replays recorded commands onto the canvas sorted by image and alpha, so commands sharing a bitmap and paint state
+// reach the canvas next to each other
+public final class RenderCommandExecutor {
+
+    // Receives the replayed commands, sprites may be queued until flushSprites is called
+    public interface Target {
+
+        void sprite(int image, float x, float y, float scale, float rotation, float alpha);
+
+        void circle(float radius, float x, float y, float alpha, int color);
+
+        void flushSprites();
+
+    }
+
+    private static final class CanvasTarget implements Target {
+
+        private ImageManager imageManager;
+        private GameCanvas gameCanvas = null;
+
+        CanvasTarget(@NonNull ImageManager imageManager) {
+            this.imageManager = imageManager;
+        }
+
+        @Override
+        public void sprite(int image, float x, float y, float scale, float rotation, float alpha) {
+            this.imageManager.image(image).drawSprite(this.gameCanvas, x, y, scale, rotation, alpha);
+        }
+
+        @Override
+        public void circle(float radius, float x, float y, float alpha, int color) {
+            this.gameCanvas.drawCircle(radius, x, y, alpha, color);
+        }
+
+        @Override
+        public void flushSprites() {
+            this.gameCanvas.flushSprites();
+        }
+
+    }
+
+    private CanvasTarget canvasTarget;
+
+    public RenderCommandExecutor(@NonNull GameFacade gameFacade) {
+        this.canvasTarget = new CanvasTarget(gameFacade.imageManager());
+    }
+
+    public void execute(@NonNull RenderCommands commands, @NonNull GameCanvas gameCanvas) {
+        this.canvasTarget.gameCanvas = gameCanvas;
+        RenderCommandExecutor.replay(commands, this.canvasTarget);
+        this.canvasTarget.gameCanvas = null;
+    }
+
+    // Circles sort after every sprite, queued sprites are flushed when the first circle is reached so circles stay on
+    // top of them. Nothing is left queued when the replay returns.
+    public static void replay(@NonNull RenderCommands commands, @NonNull Target target) {
+        commands.sort();
+
+        boolean spritesFlushed = false;
+        for (int k = 0; k < commands.size(); ++k) {
+            int i = commands.sorted(k);
+            switch (commands.type(i)) {
+                case RenderCommands.sprite:
+                    target.sprite(
+                            commands.image(i),
+                            commands.x(i),
+                            commands.y(i),
+                            commands.scale(i),
+                            commands.rotation(i),
+                            commands.alpha(i)
+                        );
+                    break;
+                case RenderCommands.circle:
+                    if (!spritesFlushed) {
+                        target.flushSprites();
+                        spritesFlushed = true;
+                    }
+                    target.circle(commands.scale(i), commands.x(i), commands.y(i), commands.alpha(i), commands.color(i));
+                    break;
+            }
+        }
+        if (!spritesFlushed)
+            target.flushSprites();
+
+        commands.clear();
+    }
+
+}
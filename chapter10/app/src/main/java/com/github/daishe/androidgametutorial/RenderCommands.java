@@ -0,0 +1,169 @@
+package com.github.daishe.androidgametutorial;
+
+import java.util.Arrays;
+
+// Compact draw commands kept in reusable primitive arrays, recording does not touch the canvas nor allocate
+// once the arrays have grown to the size of a frame
+public final class RenderCommands {
+
+    public static final byte sprite = 0;
+    public static final byte circle = 1;
+
+    // Sort key: image id, then alpha, then recording order, so equal keys keep their order
+    private static final int sequenceBits = 24;
+    private static final int alphaBits = 8;
+    private static final int imageBits = 16;
+    private static final int keyBytes = (RenderCommands.sequenceBits + RenderCommands.alphaBits + RenderCommands.imageBits) / 8;
+    private static final int noImage = (1 << RenderCommands.imageBits) - 1;
+
+    private int count = 0;
+
+    private byte[] type;
+    private int[] image;
+    private float[] x;
+    private float[] y;
+    private float[] scale;
+    private float[] rotation;
+    private float[] alpha;
+    private int[] color;
+
+    private long[] keys;
+    private long[] sortedKeys;
+    private long[] sortBuffer;
+    private int[] histogram = new int[256];
+    private boolean sorted = false;
+
+    public RenderCommands() {
+        this(256);
+    }
+
+    public RenderCommands(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.type = new byte[capacity];
+        this.image = new int[capacity];
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.scale = new float[capacity];
+        this.rotation = new float[capacity];
+        this.alpha = new float[capacity];
+        this.color = new int[capacity];
+        this.keys = new long[capacity];
+        this.sortedKeys = new long[capacity];
+        this.sortBuffer = new long[capacity];
+    }
+
+    public int size() {
+        return this.count;
+    }
+
+    public byte type(int index) { return this.type[index]; }
+    public int image(int index) { return this.image[index]; }
+    public float x(int index) { return this.x[index]; }
+    public float y(int index) { return this.y[index]; }
+    public float scale(int index) { return this.scale[index]; }
+    public float rotation(int index) { return this.rotation[index]; }
+    public float alpha(int index) { return this.alpha[index]; }
+    public int color(int index) { return this.color[index]; }
+
+    public void clear() {
+        this.count = 0;
+        this.sorted = false;
+    }
+
+    // Whether an image id fits the sort key, the highest one is reserved for commands without an image
+    public static boolean accepts(int image) {
+        return image >= 0 && image < RenderCommands.noImage;
+    }
+
+    public int sprite(int image, float x, float y, float scale, float rotation, float alpha) {
+        if (!RenderCommands.accepts(image))
+            throw new IllegalArgumentException("Image id out of range: " + image);
+        return this.add(RenderCommands.sprite, image, x, y, scale, rotation, alpha, 0);
+    }
+
+    // Circles have no image, they sort after every sprite, the radius is kept as the scale
+    public int circle(float x, float y, float radius, float alpha, int color) {
+        return this.add(RenderCommands.circle, RenderCommands.noImage, x, y, radius, 0f, alpha, color);
+    }
+
+    // Index of the command at the given position of the sorted order
+    public int sorted(int position) {
+        return (int)(this.sortedKeys[position] & ((1L << RenderCommands.sequenceBits) - 1));
+    }
+
+    // Least significant digit radix sort, stable and without any allocation
+    public void sort() {
+        if (this.sorted)
+            return;
+
+        System.arraycopy(this.keys, 0, this.sortedKeys, 0, this.count);
+
+        long[] from = this.sortedKeys;
+        long[] to = this.sortBuffer;
+        for (int pass = 0; pass < RenderCommands.keyBytes; ++pass) {
+            int shift = pass * 8;
+            Arrays.fill(this.histogram, 0);
+            for (int i = 0; i < this.count; ++i)
+                ++this.histogram[(int)(from[i] >>> shift) & 0xFF];
+
+            int offset = 0;
+            for (int b = 0; b < 256; ++b) {
+                int bucket = this.histogram[b];
+                this.histogram[b] = offset;
+                offset += bucket;
+            }
+
+            for (int i = 0; i < this.count; ++i)
+                to[this.histogram[(int)(from[i] >>> shift) & 0xFF]++] = from[i];
+
+            long[] swap = from;
+            from = to;
+            to = swap;
+        }
+
+        this.sortedKeys = from;
+        this.sortBuffer = to;
+        this.sorted = true;
+    }
+
+    private int add(byte type, int image, float x, float y, float scale, float rotation, float alpha, int color) {
+        if (this.count == this.type.length)
+            this.grow(this.count * 2);
+
+        int index = this.count++;
+        this.type[index] = type;
+        this.image[index] = image;
+        this.x[index] = x;
+        this.y[index] = y;
+        this.scale[index] = scale;
+        this.rotation[index] = rotation;
+        this.alpha[index] = alpha;
+        this.color[index] = color;
+
+        long alphaKey = Math.round(Math.max(0f, Math.min(1f, alpha)) * 255);
+        this.keys[index] = ((long)image << (RenderCommands.sequenceBits + RenderCommands.alphaBits))
+                | (alphaKey << RenderCommands.sequenceBits)
+                | index;
+        this.sorted = false;
+        return index;
+    }
+
+    private void grow(int capacity) {
+        capacity = Math.min(capacity, 1 << RenderCommands.sequenceBits);
+        if (capacity <= this.count)
+            throw new IllegalStateException("Too many render commands");
+
+        this.type = Arrays.copyOf(this.type, capacity);
+        this.image = Arrays.copyOf(this.image, capacity);
+        this.x = Arrays.copyOf(this.x, capacity);
+        this.y = Arrays.copyOf(this.y, capacity);
+        this.scale = Arrays.copyOf(this.scale, capacity);
+        this.rotation = Arrays.copyOf(this.rotation, capacity);
+        this.alpha = Arrays.copyOf(this.alpha, capacity);
+        this.color = Arrays.copyOf(this.color, capacity);
+        this.keys = Arrays.copyOf(this.keys, capacity);
+        this.sortedKeys = new long[capacity];
+        this.sortBuffer = new long[capacity];
+    }
+
+}
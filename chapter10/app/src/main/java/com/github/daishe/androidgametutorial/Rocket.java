@@ -2,7 +2,8 @@ package com.github.daishe.androidgametutorial;
 
 public class Rocket {
 
-    private static final float radius = 5f;
+    public static final float radius = 5f;
+    private static final int color = 0xFFFF0800;
 
     private GameWorld world;
 
@@ -10,6 +11,9 @@ public class Rocket {
     private MutableVector2D velocity = Vector2D.fromNothing();
     private MutableVector2D acceleration = Vector2D.fromNothing();
 
+    private MutableVector2D previousPosition = Vector2D.fromNothing();
+    private MutableVector2D drawPosition = Vector2D.fromNothing();
+
     private MutableVector2D initialPosition = Vector2D.fromNothing();
     private MutableVector2D targetPosition = Vector2D.fromNothing();
     private float initialTargetDistanceSquare = 0;
@@ -33,15 +37,19 @@ public class Rocket {
             .normalizeInPlace()
             .mulInPlace(gameFacade.configuration().rocketMaxVelocity);
         this.acceleration.setToCartesian(0, 0);
+        this.previousPosition.setTo(this.position);
 
         this.initialPosition.setTo(this.position);
         this.targetPosition.setTo(targetPosition);
-        this.initialTargetDistanceSquare = Vector2D.from(this.targetPosition)
-            .subInPlace(this.initialPosition)
-            .radiusSquare();
+        this.initialTargetDistanceSquare = Vector2D.cartesianToPolarRadiusSquare(
+                this.targetPosition.x() - this.initialPosition.x(),
+                this.targetPosition.y() - this.initialPosition.y()
+            );
 
         this.homing = true;
 
+        this.alpha.reset();
+
         this.alive = true;
 
         return this;
@@ -75,6 +83,22 @@ public class Rocket {
         return this.velocity.setTo(velocity);
     }
 
+    public Vector2D previousPosition() {
+        return this.previousPosition;
+    }
+
+    public float alpha() {
+        return this.alpha.get();
+    }
+
+    // Position interpolated between the last two simulation steps, reused between calls
+    public Vector2D drawPosition(GameCanvas gameCanvas) {
+        return this.drawPosition.setToCartesian(
+                gameCanvas.interpolate(this.previousPosition.x(), this.position.x()),
+                gameCanvas.interpolate(this.previousPosition.y(), this.position.y())
+            );
+    }
+
     public float collisionRadius() {
         return Rocket.radius;
     }
@@ -85,6 +109,8 @@ public class Rocket {
 
         Configuration configuration = this.world.facade().configuration();
 
+        this.previousPosition.setTo(this.position);
+
         Vector2D relativePosition = Vector2D.from(this.position).subInPlace(this.world.cameraPosition());
         if (Math.abs(relativePosition.x()) > configuration.killingRange || Math.abs(relativePosition.y()) > configuration.killingRange)
             this.alive = false;
@@ -115,18 +141,23 @@ public class Rocket {
         this.position.addInPlace(this.velocity.mul(timeShift));
     }
 
+    // Called only for rockets found visible by the culling pass of the pool
     public void draw(GameCanvas gameCanvas) {
-        if (!this.alive || !gameCanvas.isVisible(this.position, Rocket.radius))
-            return;
+        Vector2D drawPosition = this.drawPosition(gameCanvas);
 
         if (this.world.facade().configuration().drawPhysicsDebugInfo) {
-            gameCanvas.drawDebugHomingInfo(this.initialPosition, this.position, this.targetPosition);
-            gameCanvas.drawDebugVelocity(this.position, this.velocity);
-            gameCanvas.drawDebugAcceleration(this.position, this.acceleration);
-            gameCanvas.drawDebugCollisionBox(this.position, Rocket.radius);
+            gameCanvas.drawDebugHomingInfo(this.initialPosition, drawPosition, this.targetPosition);
+            gameCanvas.drawDebugVelocity(drawPosition, this.velocity);
+            gameCanvas.drawDebugAcceleration(drawPosition, this.acceleration);
+            gameCanvas.drawDebugCollisionBox(drawPosition, Rocket.radius);
         }
 
-        gameCanvas.drawCircle(Rocket.radius, this.position, this.alpha.get(), 0xFFFF0800);
+        gameCanvas.submitCircle(Rocket.radius, drawPosition.x(), drawPosition.y(), this.alpha.get(), Rocket.color);
+    }
+
+    // Uses only the passed state, so it may also draw a snapshot of the rocket, visibility is checked by the caller
+    public static void draw(GameCanvas gameCanvas, Vector2D at, float alpha) {
+        gameCanvas.submitCircle(Rocket.radius, at.x(), at.y(), alpha, Rocket.color);
     }
 
 }
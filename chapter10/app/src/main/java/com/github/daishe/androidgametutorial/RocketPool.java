@@ -0,0 +1,85 @@
+package com.github.daishe.androidgametutorial;
+
+public class RocketPool {
+
+    private Rocket[] active;
+    private int count = 0;
+
+    private Rocket[] free;
+    private int freeCount = 0;
+
+    // Result of the last culling pass, indices of visible rockets
+    private int visibleCount = 0;
+    private int[] visible;
+
+    public RocketPool(int capacity) {
+        capacity = Math.max(1, capacity);
+
+        this.active = new Rocket[capacity];
+        this.free = new Rocket[capacity];
+        this.visible = new int[capacity];
+        while (this.freeCount < capacity)
+            this.free[this.freeCount++] = new Rocket();
+    }
+
+    public int size() {
+        return this.count;
+    }
+
+    public int capacity() {
+        return this.active.length;
+    }
+
+    public Rocket get(int index) {
+        return this.active[index];
+    }
+
+    // Returns null when every rocket of the pool is in use
+    public Rocket obtain() {
+        if (this.freeCount == 0)
+            return null;
+
+        Rocket rocket = this.free[--this.freeCount];
+        this.free[this.freeCount] = null;
+        this.active[this.count++] = rocket;
+        return rocket;
+    }
+
+    // One pass over the active rockets against the view rectangle, returns the number of visible rockets
+    public int cull(GameCanvas gameCanvas) {
+        int alive = 0;
+        int visible = 0;
+        for (int i = 0; i < this.count; ++i) {
+            Rocket rocket = this.active[i];
+            if (!rocket.alive())
+                continue;
+            ++alive;
+
+            Vector2D position = rocket.drawPosition(gameCanvas);
+            if (gameCanvas.isVisible(position.x(), position.y(), Rocket.radius))
+                this.visible[visible++] = i;
+        }
+
+        this.visibleCount = visible;
+        gameCanvas.countEntities(visible, alive - visible);
+        return visible;
+    }
+
+    // Draws only the rockets found visible by the last culling pass
+    public void draw(GameCanvas gameCanvas) {
+        for (int v = 0; v < this.visibleCount; ++v)
+            this.active[this.visible[v]].draw(gameCanvas);
+    }
+
+    // Moves the last active rocket into the released slot, so indices of the other rockets may change
+    public void release(int index) {
+        Rocket rocket = this.active[index];
+
+        --this.count;
+        this.active[index] = this.active[this.count];
+        this.active[this.count] = null;
+
+        this.free[this.freeCount++] = rocket;
+    }
+
+}
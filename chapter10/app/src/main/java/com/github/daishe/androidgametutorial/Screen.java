@@ -9,6 +9,9 @@ public final class Screen implements GameFacadeComponent {
     private GameFacade gameFacade;
     private View view = null;
 
+    private float fallbackWidth = 0;
+    private float fallbackHeight = 0;
+
     public Screen(@NonNull GameFacade gameFacade) {
         this.gameFacade = gameFacade;
     }
@@ -17,7 +20,7 @@ public final class Screen implements GameFacadeComponent {
     public Vector2D physicalDimensions() {
         if (this.view != null)
             return Vector2D.fromCartesian(this.view.getWidth(), this.view.getHeight());
-        return Vector2D.fromNothing();
+        return Vector2D.fromCartesian(this.fallbackWidth, this.fallbackHeight);
     }
 
     @NonNull
@@ -25,9 +28,11 @@ public final class Screen implements GameFacadeComponent {
         return this.physicalToGame(this.physicalDimensions());
     }
 
+    // Does not allocate, it is read every frame
     public float scale() {
-        Vector2D dimensions = this.physicalDimensions();
-        float minDimension = Math.min(dimensions.x(), dimensions.y());
+        float width = (this.view != null) ? this.view.getWidth() : this.fallbackWidth;
+        float height = (this.view != null) ? this.view.getHeight() : this.fallbackHeight;
+        float minDimension = Math.min(width, height);
         return minDimension / 2 / this.gameFacade.configuration().minVisibleRange;
     }
 
@@ -45,6 +50,12 @@ public final class Screen implements GameFacadeComponent {
         this.view = view;
     }
 
+    // Used while there is no view, for example when running headless
+    public void setPhysicalDimensions(float width, float height) {
+        this.fallbackWidth = width;
+        this.fallbackHeight = height;
+    }
+
     @Override
     public void create(@NonNull Context context) {
     }
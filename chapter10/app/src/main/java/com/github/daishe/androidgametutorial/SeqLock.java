@@ -0,0 +1,32 @@
+package com.github.daishe.androidgametutorial;
+
+// Sequence lock, readers never block the writer and retry when a write happened while they were reading
+// Protected fields must be volatile, and writers must be serialized by the caller
+public final class SeqLock {
+
+    private volatile int sequence = 0;
+
+    public SeqLock() {
+    }
+
+    public void beginWrite() {
+        this.sequence = this.sequence + 1;
+    }
+
+    public void endWrite() {
+        this.sequence = this.sequence + 1;
+    }
+
+    // Odd sequence means a write is in progress
+    public int beginRead() {
+        int sequence;
+        while (((sequence = this.sequence) & 1) != 0)
+            Thread.yield();
+        return sequence;
+    }
+
+    public boolean retryRead(int sequence) {
+        return this.sequence != sequence;
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.github.daishe.androidgametutorial;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+
+// Bottom-left skyline rectangle packer for a strip of fixed width and unbounded height
+// The skyline is the list of segments of the current top edge, every rectangle lands on it where its top ends lowest
+public final class SkylinePacker {
+
+    private static final class Segment {
+
+        private int x;
+        private int y;
+        private int width;
+
+        Segment(int x, int y, int width) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+        }
+
+    }
+
+    private int width;
+    private int height = 0;
+    private ArrayList<Segment> skyline = new ArrayList<Segment>();
+
+    public SkylinePacker(int width) {
+        this.width = width;
+        this.skyline.add(new Segment(0, 0, width));
+    }
+
+    public int width() {
+        return this.width;
+    }
+
+    // Height used by the packed rectangles so far
+    public int height() {
+        return this.height;
+    }
+
+    // Stores the top left corner of the placed rectangle in out, returns false when it is wider than the strip
+    public boolean pack(int width, int height, @NonNull int[] out) {
+        int bestSegment = -1;
+        int bestTop = Integer.MAX_VALUE;
+        int bestWidth = Integer.MAX_VALUE;
+        int bestY = 0;
+
+        for (int i = 0; i < this.skyline.size(); ++i) {
+            int y = this.fit(i, width);
+            if (y < 0)
+                continue;
+
+            int segmentWidth = this.skyline.get(i).width;
+            if (y + height < bestTop || (y + height == bestTop && segmentWidth < bestWidth)) {
+                bestSegment = i;
+                bestTop = y + height;
+                bestWidth = segmentWidth;
+                bestY = y;
+            }
+        }
+
+        if (bestSegment < 0)
+            return false;
+
+        int x = this.skyline.get(bestSegment).x;
+        this.place(bestSegment, x, bestY + height, width);
+        this.height = Math.max(this.height, bestY + height);
+
+        out[0] = x;
+        out[1] = bestY;
+        return true;
+    }
+
+    // Lowest y at which a rectangle starting at the segment rests on the skyline, or -1 if it does not fit
+    private int fit(int segment, int width) {
+        int x = this.skyline.get(segment).x;
+        if (x + width > this.width)
+            return -1;
+
+        int y = 0;
+        int remaining = width;
+        for (int i = segment; remaining > 0; ++i) {
+            Segment s = this.skyline.get(i);
+            y = Math.max(y, s.y);
+            remaining -= s.width;
+        }
+        return y;
+    }
+
+    private void place(int segment, int x, int y, int width) {
+        this.skyline.add(segment, new Segment(x, y, width));
+
+        // Segments under the new one shrink or disappear
+        int end = x + width;
+        for (int i = segment + 1; i < this.skyline.size(); ) {
+            Segment s = this.skyline.get(i);
+            if (s.x >= end)
+                break;
+
+            int overlap = end - s.x;
+            if (overlap >= s.width) {
+                this.skyline.remove(i);
+                continue;
+            }
+            s.x += overlap;
+            s.width -= overlap;
+            break;
+        }
+
+        // Neighbours at the same height merge
+        for (int i = 0; i + 1 < this.skyline.size(); ) {
+            Segment a = this.skyline.get(i);
+            Segment b = this.skyline.get(i + 1);
+            if (a.y == b.y) {
+                a.width += b.width;
+                this.skyline.remove(i + 1);
+            }
+            else {
+                ++i;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.github.daishe.androidgametutorial;
+
+// Plain sleep, precision depends on the scheduler wakeup latency
+public class SleepFramePacer extends DeadlineFramePacer {
+
+    public SleepFramePacer() {
+    }
+
+    public SleepFramePacer(Clock clock) {
+        super(clock);
+    }
+
+    @Override
+    protected long waitUntil(long deadline, long frameDuration) throws InterruptedException {
+        long remaining = deadline - this.now();
+        if (remaining > 0)
+            Thread.sleep(remaining / 1000000, (int)(remaining % 1000000));
+        return deadline;
+    }
+
+}
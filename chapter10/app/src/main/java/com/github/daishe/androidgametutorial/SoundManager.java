@@ -7,16 +7,19 @@ import android.media.AudioManager;
 import android.media.SoundPool;
 import android.os.Build;
 import android.support.annotation.NonNull;
-import android.util.SparseArray;
+
+import java.util.HashMap;
 
 public final class SoundManager implements GameFacadeComponent {
 
     private GameFacade gameFacade;
 
     private SoundPool soundPool;
+    private SoundSink soundSink = SoundSink.none;
 
-    private SparseArray<SoundSample> sampleIdToSoundSample = new SparseArray<SoundSample>();
-    private SparseArray<SoundStream> streamIdToSoundStream = new SparseArray<SoundStream>();
+    // Plain maps, so a headless facade can be made on a JVM without any Android class behind it
+    private HashMap<Integer, SoundSample> sampleIdToSoundSample = new HashMap<Integer, SoundSample>();
+    private HashMap<Integer, SoundStream> streamIdToSoundStream = new HashMap<Integer, SoundStream>();
 
     private SoundSample smallCollisionSound;
     private SoundSample largeCollisionSound;
@@ -37,14 +40,22 @@ public final class SoundManager implements GameFacadeComponent {
     }
 
     public boolean ready() {
-        for (int i = 0; i < this.sampleIdToSoundSample.size(); ++i)
-            if (!this.sampleIdToSoundSample.valueAt(i).ready())
+        for (SoundSample soundSample : this.sampleIdToSoundSample.values())
+            if (!soundSample.ready())
                 return false;
         return true;
     }
 
+    public SoundSink sink() {
+        return this.soundSink;
+    }
+
+    public SoundSink sink(@NonNull SoundSink soundSink) {
+        return this.soundSink = soundSink;
+    }
+
     public SoundStream play(@NonNull SoundSample soundSample, float leftVolume, float rightVolume) {
-        int streamId = this.soundPool.play(soundSample.id(), leftVolume, rightVolume, 1, 0, 1);
+        int streamId = this.soundSink.play(soundSample.id(), leftVolume, rightVolume);
         if (streamId == 0)
             return null;
 
@@ -53,18 +64,30 @@ public final class SoundManager implements GameFacadeComponent {
         return soundStream;
     }
 
+    public boolean trigger(@NonNull SoundSample soundSample, float leftVolume, float rightVolume) {
+        return this.soundSink.play(soundSample.id(), leftVolume, rightVolume) != 0;
+    }
+
     public void setVolume(@NonNull SoundStream soundStream, float leftVolume, float rightVolume) {
-        if (this.streamIdToSoundStream.get(soundStream.id()) == soundStream)
+        if (this.soundPool != null && this.streamIdToSoundStream.get(soundStream.id()) == soundStream)
             this.soundPool.setVolume(soundStream.id(), leftVolume, rightVolume);
     }
 
+    // Nothing is loaded and every sound goes to the null sink
+    public void createHeadless() {
+        this.soundPool = null;
+        this.soundSink = SoundSink.none;
+    }
+
     @Override
     public void create(@NonNull Context context) {
         this.soundPool = (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) ? makeNewSoundPool() : makeOldSoundPool();
+        this.soundSink = (sampleId, leftVolume, rightVolume) -> this.soundPool.play(sampleId, leftVolume, rightVolume, 1, 0, 1);
 
         this.soundPool.setOnLoadCompleteListener((soundPool, sampleId, status) -> {
-            if (status == 0)
-                this.sampleIdToSoundSample.get(sampleId).ready(true);
+            SoundSample soundSample = this.sampleIdToSoundSample.get(sampleId);
+            if (status == 0 && soundSample != null)
+                soundSample.ready(true);
         });
 
         this.loadResource(context, this.smallCollisionSound, R.raw.small_collision_sound);
@@ -73,18 +96,23 @@ public final class SoundManager implements GameFacadeComponent {
 
     @Override
     public void pause() {
-        this.soundPool.autoPause();
+        if (this.soundPool != null)
+            this.soundPool.autoPause();
     }
 
     @Override
     public void resume() {
-        this.soundPool.autoResume();
+        if (this.soundPool != null)
+            this.soundPool.autoResume();
     }
 
     @Override
     public void destroy() {
-        for (int i = 0; i < this.sampleIdToSoundSample.size(); ++i) {
-            SoundSample soundSample = this.sampleIdToSoundSample.valueAt(i);
+        this.soundSink = SoundSink.none;
+        if (this.soundPool == null)
+            return;
+
+        for (SoundSample soundSample : this.sampleIdToSoundSample.values()) {
             soundSample.ready(false);
             this.soundPool.unload(soundSample.id());
             soundSample.clear();
@@ -98,7 +126,7 @@ public final class SoundManager implements GameFacadeComponent {
 
     private void loadResource(@NonNull Context context, @NonNull SoundSample soundSample, int resourceId) {
         soundSample.id(this.soundPool.load(context, resourceId, 1));
-        this.sampleIdToSoundSample.append(soundSample.id(), soundSample);
+        this.sampleIdToSoundSample.put(soundSample.id(), soundSample);
     }
 
     @TargetApi(Build.VERSION_CODES.LOLLIPOP)
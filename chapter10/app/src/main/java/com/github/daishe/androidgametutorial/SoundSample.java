@@ -51,9 +51,24 @@ public class SoundSample {
     }
 
     public SoundStream play(Vector2D relativePosition) {
+        float volume = this.volumeAt(relativePosition.x(), relativePosition.y());
+        if (volume <= 0)
+            return null;
+        return this.gameFacade.soundManager().play(this, volume, volume);
+    }
+
+    // Fire and forget variant which does not track the started stream, so it allocates nothing
+    public boolean trigger(float relativeX, float relativeY) {
+        float volume = this.volumeAt(relativeX, relativeY);
+        if (volume <= 0)
+            return false;
+        return this.gameFacade.soundManager().trigger(this, volume, volume);
+    }
+
+    private float volumeAt(float relativeX, float relativeY) {
         Configuration configuration = this.gameFacade.configuration();
 
-        float distance = relativePosition.radius();
+        float distance = Vector2D.cartesianToPolarRadius(relativeX, relativeY);
 
         float volume = 0;
         if (distance < configuration.clearHearingRange)
@@ -63,9 +78,7 @@ public class SoundSample {
         else
             volume = 0;
 
-        if (Float.isNaN(volume) || volume <= 0)
-            return null;
-        return this.gameFacade.soundManager().play(this, volume, volume);
+        return Float.isNaN(volume) ? 0 : volume;
     }
 
 }
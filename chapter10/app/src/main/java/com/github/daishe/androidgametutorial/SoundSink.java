@@ -0,0 +1,10 @@
+package com.github.daishe.androidgametutorial;
+
+public interface SoundSink {
+
+    SoundSink none = (sampleId, leftVolume, rightVolume) -> 0;
+
+    // Returns id of the started stream, or 0 when nothing was played
+    int play(int sampleId, float leftVolume, float rightVolume);
+
+}
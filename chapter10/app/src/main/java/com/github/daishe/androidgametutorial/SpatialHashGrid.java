@@ -0,0 +1,147 @@
+package com.github.daishe.androidgametutorial;
+
+public class SpatialHashGrid implements BroadPhase {
+
+    private float cellSize = 1f;
+
+    private int count = 0;
+    private int[] ids = new int[0];
+    private int[] cellX = new int[0];
+    private int[] cellY = new int[0];
+    private int[] bucket = new int[0];
+
+    private int bucketMask = 0;
+    private int[] bucketStart = new int[1];
+    private int[] sorted = new int[0];
+
+    public SpatialHashGrid() {
+    }
+
+    @Override
+    public void update(AsteroidField asteroids, float largestRadius) {
+        this.clear(largestRadius > 0 ? largestRadius * 2 : 1f, asteroids.size());
+        for (int i = 0; i < asteroids.size(); ++i)
+            if (asteroids.alive(i))
+                this.add(i, asteroids.x(i), asteroids.y(i));
+        this.build();
+    }
+
+    // Objects are in collision only if the distance between them is smaller than the sum of their radii,
+    // so with the cell size not smaller than twice the largest radius, only neighbouring cells have to be checked
+    public void clear(float cellSize, int capacity) {
+        this.cellSize = cellSize;
+        this.count = 0;
+
+        if (this.ids.length < capacity) {
+            this.ids = new int[capacity];
+            this.cellX = new int[capacity];
+            this.cellY = new int[capacity];
+            this.bucket = new int[capacity];
+            this.sorted = new int[capacity];
+        }
+
+        int buckets = Integer.highestOneBit(Math.max(1, capacity)) * 2;
+        if (this.bucketStart.length != buckets + 1)
+            this.bucketStart = new int[buckets + 1];
+        this.bucketMask = buckets - 1;
+    }
+
+    public void add(int id, float x, float y) {
+        int i = this.count++;
+        this.ids[i] = id;
+        this.cellX[i] = this.cellOf(x);
+        this.cellY[i] = this.cellOf(y);
+        this.bucket[i] = this.bucketOf(this.cellX[i], this.cellY[i]);
+    }
+
+    // Counting sort of all added entries by bucket
+    public void build() {
+        int[] start = this.bucketStart;
+        for (int b = 0; b < start.length; ++b)
+            start[b] = 0;
+
+        for (int i = 0; i < this.count; ++i)
+            ++start[this.bucket[i] + 1];
+        for (int b = 1; b < start.length; ++b)
+            start[b] += start[b - 1];
+
+        for (int i = 0; i < this.count; ++i)
+            this.sorted[start[this.bucket[i]]++] = i;
+
+        for (int b = start.length - 1; b > 0; --b)
+            start[b] = start[b - 1];
+        start[0] = 0;
+    }
+
+    // Collects pairs (lower id, higher id) of all entries placed in the same or neighbouring cells
+    @Override
+    public void collectPairs(CollisionPairs out) {
+        for (int i = 0; i < this.count; ++i)
+            this.collect(this.cellX[i], this.cellY[i], this.ids[i], true, out);
+    }
+
+    // Entries are added in the order of increasing ids, so the range is found without a full scan
+    @Override
+    public void collectPairs(int fromIndex, int toIndex, CollisionPairs out) {
+        int low = 0;
+        int high = this.count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.ids[middle] < fromIndex)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        for (int i = low; i < this.count && this.ids[i] < toIndex; ++i)
+            this.collect(this.cellX[i], this.cellY[i], this.ids[i], true, out);
+    }
+
+    // Collects pairs (entry id, other id) of all entries placed in the same or neighbouring cells as the given point
+    @Override
+    public void collectPairs(int otherId, float x, float y, float radius, CollisionPairs out) {
+        this.collect(this.cellOf(x), this.cellOf(y), otherId, false, out);
+    }
+
+    // Does not modify the grid, so it may be called from many threads at once
+    private void collect(int x, int y, int otherId, boolean self, CollisionPairs out) {
+        for (int neighbour = 0; neighbour < 9; ++neighbour) {
+            int b = this.neighbourBucketOf(x, y, neighbour);
+            if (this.visitedBefore(x, y, neighbour, b))
+                continue;
+
+            for (int s = this.bucketStart[b], end = this.bucketStart[b + 1]; s < end; ++s) {
+                int i = this.sorted[s];
+                if (Math.abs(this.cellX[i] - x) > 1 || Math.abs(this.cellY[i] - y) > 1)
+                    continue;
+
+                int id = this.ids[i];
+                if (!self)
+                    out.add(id, otherId);
+                else if (otherId < id)
+                    out.add(otherId, id);
+            }
+        }
+    }
+
+    // Neighbouring cells may share a bucket, which must not be scanned twice
+    private boolean visitedBefore(int x, int y, int neighbour, int b) {
+        for (int previous = 0; previous < neighbour; ++previous)
+            if (this.neighbourBucketOf(x, y, previous) == b)
+                return true;
+        return false;
+    }
+
+    private int neighbourBucketOf(int x, int y, int neighbour) {
+        return this.bucketOf(x + neighbour % 3 - 1, y + neighbour / 3 - 1);
+    }
+
+    private int cellOf(float coordinate) {
+        return (int)Math.floor(coordinate / this.cellSize);
+    }
+
+    private int bucketOf(int x, int y) {
+        return ((x * 73856093) ^ (y * 19349663)) & this.bucketMask;
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.github.daishe.androidgametutorial;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// Collects scaled and rotated quads per bitmap and submits all quads of a bitmap with a single drawVertices call
+// Vertices are drawn only by software canvases before API 29, which is what SurfaceHolder.lockCanvas provides
+public final class SpriteBatch {
+
+    // Indices are shorts, so a single call may address at most that many quads
+    private static final int maxQuadsPerCall = 65536 / 4;
+
+    private static final class Layer {
+
+        private final Bitmap bitmap;
+        private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+        private int quads = 0;
+        private float[] vertices = new float[64 * 8];
+        private float[] textureCoordinates = new float[64 * 8];
+        private int[] colors = new int[64 * 4];
+
+        Layer(Bitmap bitmap) {
+            this.bitmap = bitmap;
+            this.paint.setShader(new BitmapShader(bitmap, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP));
+        }
+
+        void reserve(int quads) {
+            if (quads * 4 <= this.colors.length)
+                return;
+            int capacity = Math.max(quads, this.colors.length / 4 * 2);
+            this.vertices = Arrays.copyOf(this.vertices, capacity * 8);
+            this.textureCoordinates = Arrays.copyOf(this.textureCoordinates, capacity * 8);
+            this.colors = Arrays.copyOf(this.colors, capacity * 4);
+        }
+
+    }
+
+    // Layers live as long as their bitmaps, so shaders and arrays are reused from frame to frame
+    private ArrayList<Layer> layers = new ArrayList<Layer>();
+    private Layer lastLayer = null;
+    private short[] indices = new short[0];
+    private int quads = 0;
+
+    public SpriteBatch() {
+    }
+
+    public int size() {
+        return this.quads;
+    }
+
+    // Source rectangle is in pixels of the bitmap, the quad is centered at the given point
+    public void add(@NonNull Bitmap bitmap, float sourceLeft, float sourceTop, float sourceRight, float sourceBottom,
+                    float x, float y, float scale, float rotation, float alpha) {
+        Layer layer = this.layerOf(bitmap);
+        layer.reserve(layer.quads + 1);
+
+        float halfWidth = (sourceRight - sourceLeft) * scale / 2;
+        float halfHeight = (sourceBottom - sourceTop) * scale / 2;
+        float cos = (float)Math.cos(rotation);
+        float sin = (float)Math.sin(rotation);
+
+        // Rotated half extents, corners are center -/+ these in clockwise order starting from the top left one
+        float ax = halfWidth * cos;
+        float ay = halfWidth * sin;
+        float bx = -halfHeight * sin;
+        float by = halfHeight * cos;
+
+        float[] v = layer.vertices;
+        int p = layer.quads * 8;
+        v[p]     = x - ax - bx; v[p + 1] = y - ay - by;
+        v[p + 2] = x + ax - bx; v[p + 3] = y + ay - by;
+        v[p + 4] = x + ax + bx; v[p + 5] = y + ay + by;
+        v[p + 6] = x - ax + bx; v[p + 7] = y - ay + by;
+
+        float[] t = layer.textureCoordinates;
+        t[p]     = sourceLeft;  t[p + 1] = sourceTop;
+        t[p + 2] = sourceRight; t[p + 3] = sourceTop;
+        t[p + 4] = sourceRight; t[p + 5] = sourceBottom;
+        t[p + 6] = sourceLeft;  t[p + 7] = sourceBottom;
+
+        // Vertex colors modulate the shader, white with the sprite alpha only fades it
+        int color = (Math.round(Math.max(0f, Math.min(1f, alpha)) * 255) << 24) | 0x00FFFFFF;
+        int c = layer.quads * 4;
+        layer.colors[c] = color;
+        layer.colors[c + 1] = color;
+        layer.colors[c + 2] = color;
+        layer.colors[c + 3] = color;
+
+        ++layer.quads;
+        ++this.quads;
+    }
+
+    // Layers are drawn in the order in which their bitmaps were first batched, quads of a layer in the order of adding
+    public void flush(@NonNull Canvas canvas, boolean antiAlias) {
+        if (this.quads == 0)
+            return;
+
+        this.reserveIndices(Math.min(this.quads, SpriteBatch.maxQuadsPerCall));
+        for (int l = 0; l < this.layers.size(); ++l) {
+            Layer layer = this.layers.get(l);
+            layer.paint.setAntiAlias(antiAlias);
+
+            for (int first = 0; first < layer.quads; first += SpriteBatch.maxQuadsPerCall) {
+                int count = Math.min(layer.quads - first, SpriteBatch.maxQuadsPerCall);
+                canvas.drawVertices(
+                        Canvas.VertexMode.TRIANGLES,
+                        count * 8,
+                        layer.vertices, first * 8,
+                        layer.textureCoordinates, first * 8,
+                        layer.colors, first * 4,
+                        this.indices, 0, count * 6,
+                        layer.paint
+                    );
+            }
+            layer.quads = 0;
+        }
+        this.quads = 0;
+    }
+
+    private Layer layerOf(Bitmap bitmap) {
+        if (this.lastLayer != null && this.lastLayer.bitmap == bitmap)
+            return this.lastLayer;
+
+        Layer result = null;
+        for (int l = 0; l < this.layers.size() && result == null; ++l)
+            if (this.layers.get(l).bitmap == bitmap)
+                result = this.layers.get(l);
+
+        if (result == null) {
+            result = new Layer(bitmap);
+            this.layers.add(result);
+        }
+        return this.lastLayer = result;
+    }
+
+    // Two triangles per quad, the same pattern is shared by all layers
+    private void reserveIndices(int quads) {
+        if (this.indices.length >= quads * 6)
+            return;
+
+        int from = this.indices.length / 6;
+        this.indices = Arrays.copyOf(this.indices, quads * 6);
+        for (int q = from; q < quads; ++q) {
+            int vertex = q * 4;
+            int i = q * 6;
+            this.indices[i]     = (short)vertex;
+            this.indices[i + 1] = (short)(vertex + 1);
+            this.indices[i + 2] = (short)(vertex + 2);
+            this.indices[i + 3] = (short)vertex;
+            this.indices[i + 4] = (short)(vertex + 2);
+            this.indices[i + 5] = (short)(vertex + 3);
+        }
+    }
+
+}
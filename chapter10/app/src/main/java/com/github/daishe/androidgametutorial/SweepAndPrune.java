@@ -0,0 +1,185 @@
+package com.github.daishe.androidgametutorial;
+
+public class SweepAndPrune implements BroadPhase {
+
+    private int count = -1;
+    private float largestRadius = 0;
+
+    private float[] minX = new float[0];
+    private float[] maxX = new float[0];
+    private float[] y = new float[0];
+    private float[] radius = new float[0];
+    private boolean[] alive = new boolean[0];
+
+    // Endpoints sorted along the x axis, each one encoded as (asteroid index << 1 | is maximum endpoint)
+    private float[] endpointValue = new float[0];
+    private int[] endpoint = new int[0];
+
+    // Pairs of asteroids which intervals overlap along the x axis
+    private LongHashSet overlaps = new LongHashSet();
+
+    private int[] active = new int[0];
+
+    public SweepAndPrune() {
+    }
+
+    @Override
+    public void update(AsteroidField asteroids, float largestRadius) {
+        this.largestRadius = largestRadius;
+
+        if (asteroids.size() != this.count) {
+            this.rebuild(asteroids);
+            return;
+        }
+
+        this.load(asteroids);
+        for (int k = 0; k < this.endpoint.length; ++k)
+            this.endpointValue[k] = this.valueOf(this.endpoint[k]);
+
+        // Asteroids barely change their order between ticks, so insertion sort does only a few swaps
+        for (int k = 1; k < this.endpoint.length; ++k) {
+            for (int j = k; j > 0 && this.endpointValue[j - 1] > this.endpointValue[j]; --j) {
+                int movingRight = this.endpoint[j - 1];
+                int movingLeft = this.endpoint[j];
+
+                boolean leftIsMax = (movingLeft & 1) != 0;
+                boolean rightIsMax = (movingRight & 1) != 0;
+                if (!leftIsMax && rightIsMax)
+                    this.overlaps.add(pairOf(movingLeft >> 1, movingRight >> 1));
+                else if (leftIsMax && !rightIsMax)
+                    this.overlaps.remove(pairOf(movingLeft >> 1, movingRight >> 1));
+
+                this.swap(j - 1, j);
+            }
+        }
+    }
+
+    @Override
+    public void collectPairs(CollisionPairs out) {
+        this.collectPairs(0, this.count, out);
+    }
+
+    @Override
+    public void collectPairs(int fromIndex, int toIndex, CollisionPairs out) {
+        for (int s = 0; s < this.overlaps.capacity(); ++s) {
+            long pair = this.overlaps.slot(s);
+            if (pair < 0)
+                continue;
+
+            int first = (int)(pair >>> 32);
+            int second = (int)pair;
+            if (first >= fromIndex && first < toIndex && this.alive[first] && this.alive[second] && this.overlapsAlongY(first, this.y[second], this.radius[second]))
+                out.add(first, second);
+        }
+    }
+
+    @Override
+    public void collectPairs(int otherId, float x, float y, float radius, CollisionPairs out) {
+        float from = x - radius;
+        float to = x + radius;
+
+        // No interval is wider than twice the largest radius, so every overlapping one starts after this bound
+        for (int k = this.lowerBound(from - this.largestRadius * 2); k < this.endpoint.length && this.endpointValue[k] < to; ++k) {
+            int e = this.endpoint[k];
+            if ((e & 1) != 0)
+                continue;
+
+            int i = e >> 1;
+            if (this.alive[i] && this.maxX[i] > from && this.overlapsAlongY(i, y, radius))
+                out.add(i, otherId);
+        }
+    }
+
+    private void rebuild(AsteroidField asteroids) {
+        this.count = asteroids.size();
+        this.minX = new float[this.count];
+        this.maxX = new float[this.count];
+        this.y = new float[this.count];
+        this.radius = new float[this.count];
+        this.alive = new boolean[this.count];
+        this.endpointValue = new float[this.count * 2];
+        this.endpoint = new int[this.count * 2];
+        this.active = new int[this.count];
+
+        this.load(asteroids);
+        for (int i = 0; i < this.count; ++i) {
+            this.endpoint[i * 2] = i << 1;
+            this.endpoint[i * 2 + 1] = (i << 1) | 1;
+        }
+        for (int k = 0; k < this.endpoint.length; ++k)
+            this.endpointValue[k] = this.valueOf(this.endpoint[k]);
+        for (int k = 1; k < this.endpoint.length; ++k)
+            for (int j = k; j > 0 && this.endpointValue[j - 1] > this.endpointValue[j]; --j)
+                this.swap(j - 1, j);
+
+        this.overlaps.clear();
+        int activeCount = 0;
+        for (int k = 0; k < this.endpoint.length; ++k) {
+            int i = this.endpoint[k] >> 1;
+            if ((this.endpoint[k] & 1) == 0) {
+                for (int a = 0; a < activeCount; ++a)
+                    this.overlaps.add(pairOf(i, this.active[a]));
+                this.active[activeCount++] = i;
+            }
+            else {
+                for (int a = 0; a < activeCount; ++a) {
+                    if (this.active[a] == i) {
+                        this.active[a] = this.active[--activeCount];
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private void load(AsteroidField asteroids) {
+        for (int i = 0; i < this.count; ++i) {
+            float x = asteroids.x(i);
+            float r = asteroids.radius(i);
+            this.minX[i] = x - r;
+            this.maxX[i] = x + r;
+            this.y[i] = asteroids.y(i);
+            this.radius[i] = r;
+            this.alive[i] = asteroids.alive(i);
+        }
+    }
+
+    private boolean overlapsAlongY(int i, float y, float radius) {
+        float delta = this.y[i] - y;
+        float radiusSum = this.radius[i] + radius;
+        return delta > -radiusSum && delta < radiusSum;
+    }
+
+    private float valueOf(int endpoint) {
+        int i = endpoint >> 1;
+        return ((endpoint & 1) != 0) ? this.maxX[i] : this.minX[i];
+    }
+
+    private int lowerBound(float value) {
+        int low = 0;
+        int high = this.endpoint.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.endpointValue[middle] < value)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    private void swap(int a, int b) {
+        float value = this.endpointValue[a];
+        this.endpointValue[a] = this.endpointValue[b];
+        this.endpointValue[b] = value;
+
+        int e = this.endpoint[a];
+        this.endpoint[a] = this.endpoint[b];
+        this.endpoint[b] = e;
+    }
+
+    private static long pairOf(int a, int b) {
+        return (a < b) ? (((long)a << 32) | b) : (((long)b << 32) | a);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.github.daishe.androidgametutorial;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// Rasterises images of many loaders into regions of one shared bitmap, so a whole scene draws from a single texture
+public final class TextureAtlas {
+
+    // Empty pixels around every region, so bilinear filtering does not bleed neighbours into each other
+    private static final int padding = 2;
+
+    private ArrayList<ImageLoader> loaders = new ArrayList<ImageLoader>();
+    private ArrayList<Image> images = new ArrayList<Image>();
+
+    private Bitmap bitmap = null;
+
+    public TextureAtlas() {
+    }
+
+    @NonNull
+    public TextureAtlas add(@NonNull ImageLoader loader, @NonNull Image into) {
+        this.loaders.add(loader);
+        this.images.add(into);
+        return this;
+    }
+
+    public Bitmap bitmap() {
+        return this.bitmap;
+    }
+
+    // Packs the regions tallest first, then resets every added image to its region of the atlas
+    @NonNull
+    public Bitmap build() {
+        int count = this.loaders.size();
+        Drawable[] drawables = new Drawable[count];
+        int[] widths = new int[count];
+        int[] heights = new int[count];
+        Integer[] order = new Integer[count];
+
+        long area = 0;
+        int widest = 1;
+        for (int i = 0; i < count; ++i) {
+            ImageLoader loader = this.loaders.get(i);
+            drawables[i] = loader.loadDrawable();
+            widths[i] = loader.regionWidth(drawables[i]) + TextureAtlas.padding * 2;
+            heights[i] = loader.regionHeight(drawables[i]) + TextureAtlas.padding * 2;
+            order[i] = i;
+            area += (long)widths[i] * heights[i];
+            widest = Math.max(widest, widths[i]);
+        }
+
+        Arrays.sort(order, (a, b) -> heights[b] - heights[a]);
+
+        SkylinePacker packer = new SkylinePacker(Math.max(widest, TextureAtlas.powerOfTwoAtLeast((int)Math.ceil(Math.sqrt(area)))));
+        int[][] positions = new int[count][2];
+        for (int i : order)
+            packer.pack(widths[i], heights[i], positions[i]);
+
+        this.bitmap = Bitmap.createBitmap(packer.width(), Math.max(1, packer.height()), Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(this.bitmap);
+        for (int i = 0; i < count; ++i) {
+            int left = positions[i][0] + TextureAtlas.padding;
+            int top = positions[i][1] + TextureAtlas.padding;
+            this.loaders.get(i).fromSvgInto(drawables[i], canvas, this.bitmap, left, top, this.images.get(i));
+        }
+
+        this.loaders.clear();
+        this.images.clear();
+        return this.bitmap;
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+        int result = 1;
+        while (result < value)
+            result *= 2;
+        return result;
+    }
+
+}
@@ -5,19 +5,22 @@ import android.support.annotation.NonNull;
 
 public final class Timer implements GameFacadeComponent {
 
+    private GameFacade gameFacade;
+
     private long startTime;
     private long subTime;
 
     private boolean paused;
     private long pauseTime;
 
-    public Timer() {
+    public Timer(@NonNull GameFacade gameFacade) {
+        this.gameFacade = gameFacade;
     }
 
     public synchronized long timeAsLong() {
         if (this.paused)
             return this.pauseTime;
-        long delta = Time.now() - this.startTime - this.subTime;
+        long delta = this.gameFacade.clock().now() - this.startTime - this.subTime;
         return (delta > 0) ? delta : 0;
     }
 
@@ -27,7 +30,11 @@ public final class Timer implements GameFacadeComponent {
 
     @Override
     public void create(@NonNull Context context) {
-        this.startTime = Time.now();
+        this.create();
+    }
+
+    public void create() {
+        this.startTime = this.gameFacade.clock().now();
         this.subTime = 0;
         this.paused = false;
         this.pauseTime = 0;
@@ -9,20 +9,42 @@ public final class Touch implements GameFacadeComponent, View.OnTouchListener {
 
     private GameFacade gameFacade;
 
-    private boolean isTouched = false;
-    private MutableVector2D touchPosition = Vector2D.fromNothing();
-    private long touchStartTime = 0;
+    // Written by the UI thread (or simulate calls) under the monitor, read by the game thread without locking
+    private SeqLock lock = new SeqLock();
+    private volatile boolean isTouched = false;
+    private volatile float touchX = 0;
+    private volatile float touchY = 0;
+    private volatile long touchStartTime = 0;
 
     public Touch(@NonNull GameFacade gameFacade) {
         this.gameFacade = gameFacade;
     }
 
-    public synchronized TouchEvent get() {
-        if (this.isTouched) {
-            long time = Time.now() - this.touchStartTime;
-            return new TouchEvent(this.gameFacade, this.touchPosition, Timer.convertToFloatTime(time));
-        }
-        return null;
+    // Allocates a new event, gameplay code reads the InputFrame of the world instead
+    public TouchEvent get() {
+        InputFrame frame = new InputFrame();
+        frame.capture(this.gameFacade);
+        if (!frame.touched())
+            return null;
+        return new TouchEvent(this.gameFacade, frame.touchPosition(), frame.touchDuration());
+    }
+
+    public void read(@NonNull InputFrame frame) {
+        boolean isTouched;
+        float touchX;
+        float touchY;
+        long touchStartTime;
+
+        int sequence;
+        do {
+            sequence = this.lock.beginRead();
+            isTouched = this.isTouched;
+            touchX = this.touchX;
+            touchY = this.touchY;
+            touchStartTime = this.touchStartTime;
+        } while (this.lock.retryRead(sequence));
+
+        frame.touch(isTouched, touchX, touchY, touchStartTime);
     }
 
     @Override
@@ -38,8 +60,10 @@ public final class Touch implements GameFacadeComponent, View.OnTouchListener {
     }
 
     @Override
-    public void destroy() {
+    public synchronized void destroy() {
+        this.lock.beginWrite();
         this.isTouched = false;
+        this.lock.endWrite();
     }
 
     @Override
@@ -59,22 +83,41 @@ public final class Touch implements GameFacadeComponent, View.OnTouchListener {
         return false;
     }
 
+    // Positions are relative to the center of the view, as in handled motion events
+    public synchronized void simulateTouchDown(@NonNull Vector2D position) {
+        this.handleTouchDown(position);
+    }
+
+    public synchronized void simulateTouchMove(@NonNull Vector2D position) {
+        this.handleTouchMove(position);
+    }
+
+    public synchronized void simulateTouchUp(@NonNull Vector2D position) {
+        this.handleTouchUp(position);
+    }
+
     private boolean handleTouchDown(@NonNull Vector2D position) {
-        this.isTouched = true;
-        this.touchPosition = Vector2D.from(position);
-        this.touchStartTime = Time.now();
+        this.publish(true, position, this.gameFacade.clock().now());
         return true;
     }
 
     private boolean handleTouchMove(@NonNull Vector2D position) {
-        this.touchPosition.setTo(position);
+        this.publish(this.isTouched, position, this.touchStartTime);
         return true;
     }
 
     private boolean handleTouchUp(@NonNull Vector2D position) {
-        this.isTouched = false;
-        this.touchPosition.setTo(position);
+        this.publish(false, position, this.touchStartTime);
         return true;
     }
 
+    private void publish(boolean isTouched, @NonNull Vector2D position, long touchStartTime) {
+        this.lock.beginWrite();
+        this.isTouched = isTouched;
+        this.touchX = position.x();
+        this.touchY = position.y();
+        this.touchStartTime = touchStartTime;
+        this.lock.endWrite();
+    }
+
 }
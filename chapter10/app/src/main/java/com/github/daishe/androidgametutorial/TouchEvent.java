@@ -7,9 +7,9 @@ public class TouchEvent {
     private GameFacade gameFacade;
 
     private final Vector2D position;
-    private final float time;
+    private final long time;
 
-    public TouchEvent(@NonNull GameFacade gameFacade, @NonNull Vector2D position, float time) {
+    public TouchEvent(@NonNull GameFacade gameFacade, @NonNull Vector2D position, long time) {
         this.gameFacade = gameFacade;
 
         this.position = Vector2D.from(position);
@@ -26,8 +26,12 @@ public class TouchEvent {
         return this.gameFacade.screen().physicalToGame(this.position).add(cameraPosition);
     }
 
-    public float time() {
+    public long timeAsLong() {
         return this.time;
     }
 
+    public float timeAsFloat() {
+        return Timer.convertToFloatTime(this.time);
+    }
+
 }
@@ -0,0 +1,65 @@
+package com.github.daishe.androidgametutorial;
+
+import android.support.annotation.NonNull;
+
+// Fixed capacity ring of past positions, the oldest one is overwritten when full
+// Positions are read by age, age 0 being the newest one
+public final class TrailBuffer {
+
+    private float[] x;
+    private float[] y;
+    private int head = 0;
+    private int size = 0;
+
+    public TrailBuffer(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+    }
+
+    public int capacity() {
+        return this.x.length;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public void clear() {
+        this.head = 0;
+        this.size = 0;
+    }
+
+    public void push(float x, float y) {
+        this.head = (this.head + 1) % this.x.length;
+        this.x[this.head] = x;
+        this.y[this.head] = y;
+        this.size = Math.min(this.size + 1, this.x.length);
+    }
+
+    public float x(int age) {
+        return this.x[this.indexOf(age)];
+    }
+
+    public float y(int age) {
+        return this.y[this.indexOf(age)];
+    }
+
+    // Allocates only when the capacities differ
+    public void copyFrom(@NonNull TrailBuffer from) {
+        if (this.x.length != from.x.length) {
+            this.x = new float[from.x.length];
+            this.y = new float[from.y.length];
+        }
+        System.arraycopy(from.x, 0, this.x, 0, from.x.length);
+        System.arraycopy(from.y, 0, this.y, 0, from.y.length);
+        this.head = from.head;
+        this.size = from.size;
+    }
+
+    private int indexOf(int age) {
+        int index = this.head - age;
+        return (index < 0) ? index + this.x.length : index;
+    }
+
+}
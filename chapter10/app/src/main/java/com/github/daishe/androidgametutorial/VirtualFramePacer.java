@@ -0,0 +1,32 @@
+package com.github.daishe.androidgametutorial;
+
+// Never blocks, waiting only moves the manual clock forward to the deadline
+public class VirtualFramePacer extends DeadlineFramePacer {
+
+    private ManualClock clock;
+
+    public VirtualFramePacer() {
+        this(0);
+    }
+
+    public VirtualFramePacer(long now) {
+        this(new ManualClock(now));
+    }
+
+    public VirtualFramePacer(ManualClock clock) {
+        super(clock);
+        this.clock = clock;
+    }
+
+    // Simulates time spent on the frame work
+    public void advance(long timeDelta) {
+        this.clock.advance(timeDelta);
+    }
+
+    @Override
+    protected long waitUntil(long deadline, long frameDuration) {
+        this.clock.advanceTo(deadline);
+        return deadline;
+    }
+
+}
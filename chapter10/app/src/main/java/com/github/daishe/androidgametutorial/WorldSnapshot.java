@@ -0,0 +1,165 @@
+package com.github.daishe.androidgametutorial;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+// Copy of everything needed to draw the world, taken by the simulation thread and drawn by the render thread
+public class WorldSnapshot {
+
+    private long capturedAt = 0;
+    private float interpolation = 1f;
+    private long stepDuration = 1;
+
+    private boolean playerAlive = false;
+    private int playerTrails = 1;
+    private Image playerImage = null;
+    private MutableVector2D playerPreviousPosition = Vector2D.fromNothing();
+    private MutableVector2D playerPosition = Vector2D.fromNothing();
+    private TrailBuffer playerTrail = new TrailBuffer(1);
+
+    private int asteroids = 0;
+    private float[] asteroidPreviousX = new float[0];
+    private float[] asteroidPreviousY = new float[0];
+    private float[] asteroidX = new float[0];
+    private float[] asteroidY = new float[0];
+    private float[] asteroidPreviousAngle = new float[0];
+    private float[] asteroidAngle = new float[0];
+    private Image[] asteroidImage = new Image[0];
+
+    private int rockets = 0;
+    private float[] rocketPreviousX = new float[0];
+    private float[] rocketPreviousY = new float[0];
+    private float[] rocketX = new float[0];
+    private float[] rocketY = new float[0];
+    private float[] rocketAlpha = new float[0];
+
+    private MutableVector2D cameraPosition = Vector2D.fromNothing();
+    private MutableVector2D position = Vector2D.fromNothing();
+
+    public WorldSnapshot() {
+    }
+
+    public int asteroids() {
+        return this.asteroids;
+    }
+
+    public int rockets() {
+        return this.rockets;
+    }
+
+    // Only alive entities are copied, interpolation is the elapsed fraction of the next simulation step at the capture time
+    public void capture(@NonNull GameWorld world, long timePoint, float interpolation, long stepDuration) {
+        this.capturedAt = timePoint;
+        this.interpolation = interpolation;
+        this.stepDuration = Math.max(1, stepDuration);
+
+        PlayerShip player = world.player();
+        this.playerAlive = player.alive();
+        this.playerTrails = world.facade().qualityGovernor().playerShipTrails();
+        this.playerImage = player.image();
+        this.playerPreviousPosition.setTo(player.previousPosition());
+        this.playerPosition.setTo(player.position());
+        this.playerTrail.copyFrom(player.trail());
+
+        AsteroidField field = world.asteroids();
+        this.reserveAsteroids(field.size());
+        this.asteroids = 0;
+        for (int i = 0; i < field.size(); ++i) {
+            if (!field.alive(i))
+                continue;
+            int k = this.asteroids++;
+            this.asteroidPreviousX[k] = field.previousX(i);
+            this.asteroidPreviousY[k] = field.previousY(i);
+            this.asteroidX[k] = field.x(i);
+            this.asteroidY[k] = field.y(i);
+            this.asteroidPreviousAngle[k] = field.previousAngularPosition(i);
+            this.asteroidAngle[k] = field.angularPosition(i);
+            this.asteroidImage[k] = field.image(i);
+        }
+
+        RocketPool pool = world.rockets();
+        this.reserveRockets(pool.size());
+        this.rockets = 0;
+        for (int i = 0; i < pool.size(); ++i) {
+            Rocket rocket = pool.get(i);
+            if (!rocket.alive())
+                continue;
+            int k = this.rockets++;
+            this.rocketPreviousX[k] = rocket.previousPosition().x();
+            this.rocketPreviousY[k] = rocket.previousPosition().y();
+            this.rocketX[k] = rocket.position().x();
+            this.rocketY[k] = rocket.position().y();
+            this.rocketAlpha[k] = rocket.alpha();
+        }
+    }
+
+    // The snapshot keeps aging while it is drawn, so the interpolation continues past the capture time
+    public float interpolationAt(long timePoint) {
+        long elapsed = Math.max(0, timePoint - this.capturedAt);
+        return Math.min(1f, this.interpolation + elapsed / (float)this.stepDuration);
+    }
+
+    public Vector2D cameraPosition(@NonNull GameCanvas gameCanvas) {
+        return this.cameraPosition.setToCartesian(
+                gameCanvas.interpolate(this.playerPreviousPosition.x(), this.playerPosition.x()),
+                gameCanvas.interpolate(this.playerPreviousPosition.y(), this.playerPosition.y())
+            );
+    }
+
+    // Physics debug overlays need the full world, so they are not drawn from snapshots
+    public void draw(@NonNull GameCanvas gameCanvas, @NonNull Configuration configuration) {
+        if (this.playerAlive)
+            PlayerShip.draw(gameCanvas, configuration, this.playerTrails, this.playerImage, this.cameraPosition(gameCanvas), this.playerTrail);
+
+        int visible = 0;
+        for (int i = 0; i < this.asteroids; ++i) {
+            Image image = this.asteroidImage[i];
+            float x = gameCanvas.interpolate(this.asteroidPreviousX[i], this.asteroidX[i]);
+            float y = gameCanvas.interpolate(this.asteroidPreviousY[i], this.asteroidY[i]);
+            if (!gameCanvas.isVisible(x, y, image.diagonal() / 2))
+                continue;
+
+            float rotation = gameCanvas.interpolateAngle(this.asteroidPreviousAngle[i], this.asteroidAngle[i]);
+            gameCanvas.submitSprite(image, x, y, 1f, rotation, 1f);
+            ++visible;
+        }
+        gameCanvas.countEntities(visible, this.asteroids - visible);
+
+        visible = 0;
+        for (int i = 0; i < this.rockets; ++i) {
+            float x = gameCanvas.interpolate(this.rocketPreviousX[i], this.rocketX[i]);
+            float y = gameCanvas.interpolate(this.rocketPreviousY[i], this.rocketY[i]);
+            if (!gameCanvas.isVisible(x, y, Rocket.radius))
+                continue;
+
+            this.position.setToCartesian(x, y);
+            Rocket.draw(gameCanvas, this.position, this.rocketAlpha[i]);
+            ++visible;
+        }
+        gameCanvas.countEntities(visible, this.rockets - visible);
+    }
+
+    private void reserveAsteroids(int capacity) {
+        if (this.asteroidX.length >= capacity)
+            return;
+        this.asteroidPreviousX = Arrays.copyOf(this.asteroidPreviousX, capacity);
+        this.asteroidPreviousY = Arrays.copyOf(this.asteroidPreviousY, capacity);
+        this.asteroidX = Arrays.copyOf(this.asteroidX, capacity);
+        this.asteroidY = Arrays.copyOf(this.asteroidY, capacity);
+        this.asteroidPreviousAngle = Arrays.copyOf(this.asteroidPreviousAngle, capacity);
+        this.asteroidAngle = Arrays.copyOf(this.asteroidAngle, capacity);
+        this.asteroidImage = Arrays.copyOf(this.asteroidImage, capacity);
+    }
+
+    private void reserveRockets(int capacity) {
+        if (this.rocketX.length >= capacity)
+            return;
+        this.rocketPreviousX = Arrays.copyOf(this.rocketPreviousX, capacity);
+        this.rocketPreviousY = Arrays.copyOf(this.rocketPreviousY, capacity);
+        this.rocketX = Arrays.copyOf(this.rocketX, capacity);
+        this.rocketY = Arrays.copyOf(this.rocketY, capacity);
+        this.rocketAlpha = Arrays.copyOf(this.rocketAlpha, capacity);
+    }
+
+}
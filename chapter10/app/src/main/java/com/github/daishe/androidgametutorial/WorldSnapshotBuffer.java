@@ -0,0 +1,48 @@
+package com.github.daishe.androidgametutorial;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// Lock free hand-off of snapshots between a single writer and a single reader
+// Each side owns one snapshot and the third one sits in the exchange slot, so neither side ever waits for the other
+public class WorldSnapshotBuffer {
+
+    private static class Slot {
+        final WorldSnapshot snapshot = new WorldSnapshot();
+        boolean fresh = false;
+    }
+
+    private Slot writing = new Slot();
+    private Slot reading = new Slot();
+    private AtomicReference<Slot> exchange = new AtomicReference<>(new Slot());
+
+    private boolean published = false;
+
+    public WorldSnapshotBuffer() {
+    }
+
+    // Writer side, the returned snapshot may be filled until the next publish call
+    @NonNull
+    public WorldSnapshot writable() {
+        return this.writing.snapshot;
+    }
+
+    public void publish() {
+        this.writing.fresh = true;
+        this.writing = this.exchange.getAndSet(this.writing);
+    }
+
+    // Reader side, returns the newest published snapshot or null if nothing was published yet
+    // The writer may swap the exchange slot between the check and the swap, but every slot it puts there is marked
+    // fresh first, so the swap still takes out a fresh slot, only a newer one than the checked one
+    public WorldSnapshot latest() {
+        if (this.exchange.get().fresh) {
+            this.reading = this.exchange.getAndSet(this.reading);
+            this.reading.fresh = false;
+            this.published = true;
+        }
+        return this.published ? this.reading.snapshot : null;
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.github.daishe.androidgametutorial;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FramePacerTest {
+
+    private static final long frameDuration = 33333333;
+
+    @Test
+    public void deadlines_doNotAccumulateWorkTime() throws InterruptedException {
+        VirtualFramePacer pacer = new VirtualFramePacer(1000);
+        pacer.awaitNextFrame(frameDuration);
+        for (int frame = 2; frame <= 300; ++frame) {
+            pacer.advance(frame % 7 * 1000000);
+            pacer.awaitNextFrame(frameDuration);
+            assertEquals(1000 + frame * frameDuration, pacer.now());
+        }
+    }
+
+    @Test
+    public void lateFrame_resynchronizesInsteadOfBursting() throws InterruptedException {
+        VirtualFramePacer pacer = new VirtualFramePacer(0);
+        pacer.awaitNextFrame(frameDuration);
+
+        pacer.advance(5 * frameDuration);
+        pacer.awaitNextFrame(frameDuration);
+        long resynchronized = pacer.now();
+        assertEquals(6 * frameDuration, resynchronized);
+
+        pacer.awaitNextFrame(frameDuration);
+        assertEquals(resynchronized + frameDuration, pacer.now());
+    }
+
+    @Test
+    public void reset_countsFromCurrentTime() throws InterruptedException {
+        VirtualFramePacer pacer = new VirtualFramePacer(0);
+        pacer.awaitNextFrame(frameDuration);
+        pacer.advance(frameDuration / 2);
+        pacer.reset();
+
+        pacer.awaitNextFrame(frameDuration);
+        assertEquals(frameDuration + frameDuration / 2 + frameDuration, pacer.now());
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.github.daishe.androidgametutorial;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrameTimeRingTest {
+
+    private static final long millisecond = 1000000;
+
+    @Test
+    public void filledPastCapacity_keepsOnlySamplesThatCannotBeOverwritten() {
+        FrameTimeRing ring = new FrameTimeRing(8);
+        for (int i = 1; i <= 20; ++i)
+            ring.add(i * millisecond);
+
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        ring.copyTo(histogram);
+
+        // The slot a whole capacity behind the write count is the next one to be reused, so it is never read
+        assertEquals(ring.capacity() - 1, histogram.count());
+        assertEquals(20 * millisecond, histogram.max());
+        assertEquals(17 * millisecond, histogram.mean());
+    }
+
+    @Test
+    public void copySince_readsOnlyLaterSamples() {
+        FrameTimeRing ring = new FrameTimeRing(8);
+        for (int i = 1; i <= 20; ++i)
+            ring.add(i * millisecond);
+
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        ring.copyTo(histogram, 18);
+
+        assertEquals(2, histogram.count());
+        assertEquals(20 * millisecond, histogram.max());
+        assertEquals(19500 * 1000, histogram.mean());
+    }
+
+    @Test
+    public void clear_dropsEverySample() {
+        FrameTimeRing ring = new FrameTimeRing(8);
+        for (int i = 1; i <= 5; ++i)
+            ring.add(i * millisecond);
+        ring.clear();
+
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        ring.copyTo(histogram);
+        assertEquals(0, histogram.count());
+    }
+
+}
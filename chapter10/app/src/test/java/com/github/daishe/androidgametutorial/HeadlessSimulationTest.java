@@ -0,0 +1,125 @@
+package com.github.daishe.androidgametutorial;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HeadlessSimulationTest {
+
+    private static final long seed = 42;
+    private static final int steps = 3000;
+    private static final float timeShift = 1f / 30;
+
+    // Tilts the device in circles and keeps touching the screen, so the ship flies around and fires rockets
+    private static final HeadlessGame.InputScript inputScript = (gameFacade, time) -> {
+        float angle = (float)time * 0.5f;
+        gameFacade.orientation().simulate(0, (float)Math.sin(angle) * 0.3f, (float)Math.cos(angle) * 0.3f);
+        if (((int)time) % 3 == 0)
+            gameFacade.touch().simulateTouchDown(Vector2D.fromCartesian(200, -300));
+        else
+            gameFacade.touch().simulateTouchUp(Vector2D.fromCartesian(200, -300));
+    };
+
+    @Test
+    public void simulation_runsWithoutAndroid() {
+        HeadlessGame game = this.makeGame(BroadPhase.Type.SPATIAL_HASH_GRID, false, 0);
+        game.run(steps, timeShift);
+
+        assertEquals(steps * timeShift, game.time(), 0.01);
+        assertEquals(game.facade().configuration().asteroidsLimit, game.world().asteroids().size());
+        game.destroy();
+    }
+
+    @Test
+    public void simulation_isDeterministic() {
+        assertEquals(
+                this.simulate(BroadPhase.Type.SPATIAL_HASH_GRID, false, 0),
+                this.simulate(BroadPhase.Type.SPATIAL_HASH_GRID, false, 0)
+            );
+    }
+
+    @Test
+    public void tenMinutesOfGameTime_runFasterThanRealTime() {
+        HeadlessGame game = this.makeGame(BroadPhase.Type.SPATIAL_HASH_GRID, false, 0);
+        long tenMinutes = 600 * Time.resolution();
+        long startTimePoint = System.nanoTime();
+
+        game.runFor(tenMinutes, Time.resolution() / 30);
+
+        assertTrue(System.nanoTime() - startTimePoint < tenMinutes);
+        assertEquals(tenMinutes, game.timeAsLong(), Time.resolution() / 30);
+        assertEquals(game.timeAsLong(), game.facade().clock().now());
+        game.destroy();
+    }
+
+    @Test
+    public void touchDuration_followsSimulatedTime() {
+        HeadlessGame game = new HeadlessGame(HeadlessGame.makeFacade(seed), (gameFacade, time) -> {});
+        game.facade().touch().simulateTouchDown(Vector2D.fromCartesian(0, 0));
+
+        game.runFor(2 * Time.resolution(), Time.resolution() / 50);
+
+        assertEquals(2 * Time.resolution(), game.facade().touch().get().timeAsLong());
+        game.destroy();
+    }
+
+    @Test
+    public void collisionStrategies_giveIdenticalResults() {
+        String expected = this.simulate(BroadPhase.Type.SPATIAL_HASH_GRID, false, 0);
+
+        assertEquals(expected, this.simulate(BroadPhase.Type.SWEEP_AND_PRUNE, false, 0));
+        assertEquals(expected, this.simulate(BroadPhase.Type.SPATIAL_HASH_GRID, true, 0));
+        assertEquals(expected, this.simulate(BroadPhase.Type.SPATIAL_HASH_GRID, false, 1));
+        assertEquals(expected, this.simulate(BroadPhase.Type.SWEEP_AND_PRUNE, false, 1));
+    }
+
+    private HeadlessGame makeGame(BroadPhase.Type broadPhase, boolean kinetic, long parallelThreshold) {
+        GameFacade gameFacade = HeadlessGame.makeFacade(seed);
+
+        Configuration configuration = gameFacade.configuration();
+        configuration.asteroidsLimit = 300;
+        configuration.collisionBroadPhase = broadPhase;
+        configuration.kineticAsteroidCollisions = kinetic;
+        configuration.parallelCollisionThreshold = parallelThreshold;
+
+        // Workers are only used with more than one thread, which a single core machine would not give by default
+        if (parallelThreshold > 0) {
+            configuration.collisionWorkerThreads = 4;
+            gameFacade.collisionWorkers().destroy();
+            gameFacade.collisionWorkers().create();
+            assertTrue(gameFacade.collisionWorkers().worthUsing((int)configuration.asteroidsLimit));
+        }
+
+        return new HeadlessGame(gameFacade, inputScript);
+    }
+
+    // Summary of the final world state together with all played sounds
+    private String simulate(BroadPhase.Type broadPhase, boolean kinetic, long parallelThreshold) {
+        HeadlessGame game = this.makeGame(broadPhase, kinetic, parallelThreshold);
+
+        StringBuilder sounds = new StringBuilder();
+        game.facade().soundManager().sink((sampleId, leftVolume, rightVolume) -> {
+            sounds.append(sampleId).append(':').append(leftVolume).append(';');
+            return 0;
+        });
+
+        game.run(steps, timeShift);
+
+        StringBuilder result = new StringBuilder();
+        GameWorld world = game.world();
+        result.append(world.player().alive()).append(world.player().position().stringify());
+
+        AsteroidField asteroids = world.asteroids();
+        for (int i = 0; i < asteroids.size(); ++i)
+            result.append(asteroids.x(i)).append(',').append(asteroids.y(i)).append(';');
+
+        result.append(world.rockets().size()).append(sounds);
+
+        // Worker threads are started only by a scene large enough to use them
+        assertEquals(parallelThreshold > 0, game.facade().collisionWorkers().started());
+
+        game.destroy();
+        return result.toString();
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.github.daishe.androidgametutorial;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+public class LongHashSetTest {
+
+    @Test
+    public void addedValues_areContainedOnce() {
+        LongHashSet set = new LongHashSet();
+
+        assertTrue(set.add(3));
+        assertFalse(set.add(3));
+        assertTrue(set.contains(3));
+        assertFalse(set.contains(4));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void removedValues_keepOtherValuesOfTheirProbingChain() {
+        LongHashSet set = new LongHashSet(8);
+        for (long value = 0; value < 1000; ++value)
+            set.add(value);
+
+        for (long value = 0; value < 1000; value += 3)
+            assertTrue(set.remove(value));
+        assertFalse(set.remove(0));
+
+        for (long value = 0; value < 1000; ++value)
+            assertEquals(value % 3 != 0, set.contains(value));
+    }
+
+    @Test
+    public void randomOperations_matchHashSet() {
+        LongHashSet set = new LongHashSet();
+        HashSet<Long> expected = new HashSet<Long>();
+        java.util.Random random = new java.util.Random(42);
+
+        for (int i = 0; i < 100000; ++i) {
+            long value = random.nextInt(512);
+            if (random.nextBoolean())
+                assertEquals(expected.add(value), set.add(value));
+            else
+                assertEquals(expected.remove(value), set.remove(value));
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (long value = 0; value < 512; ++value)
+            assertEquals(expected.contains(value), set.contains(value));
+    }
+
+    @Test
+    public void clear_removesEveryValue() {
+        LongHashSet set = new LongHashSet();
+        set.add(1);
+        set.add(2);
+        set.clear();
+
+        assertEquals(0, set.size());
+        assertFalse(set.contains(1));
+        assertFalse(set.contains(2));
+    }
+
+}
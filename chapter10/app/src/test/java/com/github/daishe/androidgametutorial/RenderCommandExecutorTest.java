@@ -0,0 +1,72 @@
+package com.github.daishe.androidgametutorial;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RenderCommandExecutorTest {
+
+    private static final class RecordingTarget implements RenderCommandExecutor.Target {
+
+        private List<String> calls = new ArrayList<String>();
+
+        @Override
+        public void sprite(int image, float x, float y, float scale, float rotation, float alpha) {
+            this.calls.add("sprite " + image + " " + (int)x);
+        }
+
+        @Override
+        public void circle(float radius, float x, float y, float alpha, int color) {
+            this.calls.add("circle " + (int)x);
+        }
+
+        @Override
+        public void flushSprites() {
+            this.calls.add("flush");
+        }
+
+    }
+
+    @Test
+    public void replay_flushesSpritesBeforeTheFirstCircle() {
+        RenderCommands commands = new RenderCommands();
+        commands.sprite(1, 0, 0, 1, 0, 1f);
+        commands.circle(1, 0, 4, 1f, 0xFFFFFF00);
+        commands.sprite(0, 2, 0, 1, 0, 1f);
+        commands.circle(3, 0, 4, 1f, 0xFFFFFF00);
+
+        RecordingTarget target = new RecordingTarget();
+        RenderCommandExecutor.replay(commands, target);
+
+        assertEquals(Arrays.asList("sprite 0 2", "sprite 1 0", "flush", "circle 1", "circle 3"), target.calls);
+        assertEquals(0, commands.size());
+    }
+
+    @Test
+    public void replayWithoutCircles_leavesNoSpriteQueued() {
+        RenderCommands commands = new RenderCommands();
+        commands.sprite(0, 0, 0, 1, 0, 1f);
+
+        RecordingTarget target = new RecordingTarget();
+        RenderCommandExecutor.replay(commands, target);
+
+        assertEquals(Arrays.asList("sprite 0 0", "flush"), target.calls);
+    }
+
+    @Test
+    public void replayOfCirclesOnly_flushesOnce() {
+        RenderCommands commands = new RenderCommands();
+        commands.circle(0, 0, 4, 1f, 0xFFFFFF00);
+        commands.circle(1, 0, 4, 1f, 0xFFFFFF00);
+
+        RecordingTarget target = new RecordingTarget();
+        RenderCommandExecutor.replay(commands, target);
+
+        assertEquals(Arrays.asList("flush", "circle 0", "circle 1"), target.calls);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.github.daishe.androidgametutorial;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RenderCommandsTest {
+
+    @Test
+    public void sort_ordersByImageThenAlphaThenSequence() {
+        RenderCommands commands = new RenderCommands(4);
+        commands.sprite(2, 0, 0, 1, 0, 1f);
+        commands.sprite(1, 1, 0, 1, 0, 1f);
+        commands.sprite(2, 2, 0, 1, 0, 0.5f);
+        commands.sprite(1, 3, 0, 1, 0, 0.5f);
+        commands.sprite(1, 4, 0, 1, 0, 1f);
+        commands.sprite(0, 5, 0, 1, 0, 1f);
+
+        commands.sort();
+
+        int[] expected = { 5, 3, 1, 4, 2, 0 };
+        for (int p = 0; p < expected.length; ++p)
+            assertEquals(expected[p], commands.sorted(p));
+    }
+
+    @Test
+    public void sort_keepsRecordingOrderOfEqualKeys() {
+        RenderCommands commands = new RenderCommands();
+        for (int i = 0; i < 1000; ++i)
+            commands.sprite(i % 3, i, 0, 1, 0, 1f);
+
+        commands.sort();
+
+        int previous = -1;
+        for (int p = 0; p < commands.size(); ++p) {
+            int index = commands.sorted(p);
+            if (p > 0 && commands.image(index) == commands.image(previous))
+                assertTrue(index > previous);
+            previous = index;
+        }
+    }
+
+    @Test
+    public void circles_sortAfterSprites() {
+        RenderCommands commands = new RenderCommands();
+        commands.circle(0, 0, 10, 1f, 0xFFFFFF00);
+        commands.sprite(7, 0, 0, 1, 0, 1f);
+
+        commands.sort();
+
+        assertEquals(RenderCommands.sprite, commands.type(commands.sorted(0)));
+        assertEquals(RenderCommands.circle, commands.type(commands.sorted(1)));
+        assertEquals(10f, commands.scale(commands.sorted(1)), 0f);
+    }
+
+    @Test
+    public void sort_seesCommandsAddedAfterAnEarlierSort() {
+        RenderCommands commands = new RenderCommands();
+        commands.sprite(1, 0, 0, 1, 0, 1f);
+        commands.sort();
+        commands.sprite(0, 1, 0, 1, 0, 1f);
+        commands.sort();
+
+        assertEquals(1, commands.sorted(0));
+        assertEquals(0, commands.sorted(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sprite_rejectsImagesWithoutId() {
+        new RenderCommands().sprite(-1, 0, 0, 1, 0, 1f);
+    }
+
+}
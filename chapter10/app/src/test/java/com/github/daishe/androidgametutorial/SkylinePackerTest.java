@@ -0,0 +1,62 @@
+package com.github.daishe.androidgametutorial;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SkylinePackerTest {
+
+    @Test
+    public void packedRectangles_stayWithinWidthAndDoNotOverlap() {
+        int width = 512;
+        int count = 300;
+        SkylinePacker packer = new SkylinePacker(width);
+        java.util.Random random = new java.util.Random(42);
+
+        int[][] rectangles = new int[count][4];
+        int[] at = new int[2];
+        for (int i = 0; i < count; ++i) {
+            int w = 8 + random.nextInt(120);
+            int h = 8 + random.nextInt(120);
+            assertTrue(packer.pack(w, h, at));
+            rectangles[i][0] = at[0];
+            rectangles[i][1] = at[1];
+            rectangles[i][2] = at[0] + w;
+            rectangles[i][3] = at[1] + h;
+        }
+
+        for (int i = 0; i < count; ++i) {
+            int[] a = rectangles[i];
+            assertTrue(a[0] >= 0 && a[1] >= 0);
+            assertTrue(a[2] <= width);
+            assertTrue(a[3] <= packer.height());
+
+            for (int j = i + 1; j < count; ++j) {
+                int[] b = rectangles[j];
+                boolean separated = a[2] <= b[0] || b[2] <= a[0] || a[3] <= b[1] || b[3] <= a[1];
+                assertTrue("rectangles " + i + " and " + j + " overlap", separated);
+            }
+        }
+    }
+
+    @Test
+    public void rectanglesOfFullWidth_stackOnTopOfEachOther() {
+        SkylinePacker packer = new SkylinePacker(64);
+        int[] at = new int[2];
+
+        assertTrue(packer.pack(64, 10, at));
+        assertArrayEquals(new int[] { 0, 0 }, at);
+        assertTrue(packer.pack(64, 20, at));
+        assertArrayEquals(new int[] { 0, 10 }, at);
+        assertEquals(30, packer.height());
+    }
+
+    @Test
+    public void rectangleWiderThanStrip_isRejected() {
+        SkylinePacker packer = new SkylinePacker(64);
+
+        assertFalse(packer.pack(65, 1, new int[2]));
+        assertEquals(0, packer.height());
+    }
+
+}
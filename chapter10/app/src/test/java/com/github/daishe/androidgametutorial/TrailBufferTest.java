@@ -0,0 +1,61 @@
+package com.github.daishe.androidgametutorial;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TrailBufferTest {
+
+    @Test
+    public void pushPastCapacity_overwritesOldestPositions() {
+        TrailBuffer trail = new TrailBuffer(4);
+        for (int i = 1; i <= 6; ++i)
+            trail.push(i, -i);
+
+        assertEquals(4, trail.size());
+        for (int age = 0; age < trail.size(); ++age) {
+            assertEquals(6 - age, trail.x(age), 0f);
+            assertEquals(age - 6, trail.y(age), 0f);
+        }
+    }
+
+    @Test
+    public void partiallyFilled_readsNewestFirst() {
+        TrailBuffer trail = new TrailBuffer(4);
+        trail.push(1, 1);
+        trail.push(2, 2);
+
+        assertEquals(2, trail.size());
+        assertEquals(2f, trail.x(0), 0f);
+        assertEquals(1f, trail.x(1), 0f);
+    }
+
+    @Test
+    public void copyFrom_copiesPositionsAndIsIndependent() {
+        TrailBuffer from = new TrailBuffer(4);
+        for (int i = 1; i <= 5; ++i)
+            from.push(i, i);
+
+        TrailBuffer to = new TrailBuffer(2);
+        to.copyFrom(from);
+        from.push(100, 100);
+
+        assertEquals(4, to.capacity());
+        assertEquals(4, to.size());
+        for (int age = 0; age < to.size(); ++age)
+            assertEquals(5 - age, to.x(age), 0f);
+    }
+
+    @Test
+    public void clear_dropsEveryPosition() {
+        TrailBuffer trail = new TrailBuffer(4);
+        trail.push(1, 1);
+        trail.clear();
+
+        assertEquals(0, trail.size());
+        trail.push(2, 2);
+        assertEquals(1, trail.size());
+        assertEquals(2f, trail.x(0), 0f);
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.github.daishe.androidgametutorial.benchmark;
+
+import com.github.daishe.androidgametutorial.Collision;
+import com.github.daishe.androidgametutorial.ContactBuffer;
+import com.github.daishe.androidgametutorial.Vector2D;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+    private Vector2D first;
+    private Vector2D hitting;
+    private Vector2D nearMissing;
+    private Vector2D farMissing;
+    private ContactBuffer contacts;
+
+    @Setup
+    public void setup() {
+        this.first = Vector2D.fromCartesian(100f, 100f);
+        this.hitting = Vector2D.fromCartesian(120f, 110f);
+        this.nearMissing = Vector2D.fromCartesian(135f, 135f);
+        this.farMissing = Vector2D.fromCartesian(900f, -400f);
+        this.contacts = new ContactBuffer();
+    }
+
+    @Benchmark
+    public Vector2D atHit() {
+        return Collision.at(this.first, 25f, this.hitting, 20f);
+    }
+
+    @Benchmark
+    public Vector2D atNearMiss() {
+        return Collision.at(this.first, 25f, this.nearMissing, 20f);
+    }
+
+    @Benchmark
+    public Vector2D atFarMiss() {
+        return Collision.at(this.first, 25f, this.farMissing, 20f);
+    }
+
+    @Benchmark
+    public boolean testHit() {
+        this.contacts.clear();
+        return Collision.test(this.first, 25f, this.hitting, 20f, this.contacts, 0);
+    }
+
+    @Benchmark
+    public boolean testNearMiss() {
+        this.contacts.clear();
+        return Collision.test(this.first, 25f, this.nearMissing, 20f, this.contacts, 0);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.github.daishe.androidgametutorial.benchmark;
+
+import com.github.daishe.androidgametutorial.GameFacade;
+import com.github.daishe.androidgametutorial.GameWorld;
+import com.github.daishe.androidgametutorial.HeadlessGame;
+import com.github.daishe.androidgametutorial.Vector2D;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class GameWorldBenchmark {
+
+    private static final float timeShift = 1f / 30;
+
+    @Param({"100", "1000", "10000"})
+    public int asteroids;
+
+    private HeadlessGame game;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameFacade gameFacade = HeadlessGame.makeFacade(42);
+        gameFacade.configuration().asteroidsLimit = this.asteroids;
+
+        // Slight constant tilt and a held touch, so the ship keeps moving and firing rockets
+        this.game = new HeadlessGame(gameFacade, (facade, time) -> {
+            facade.orientation().simulate(0, 0.1f, 0.2f);
+            facade.touch().simulateTouchDown(Vector2D.fromCartesian(100, -200));
+        });
+
+        // Let the field settle into its steady state before measuring
+        this.game.run(300, timeShift);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.game.destroy();
+    }
+
+    @Benchmark
+    public GameWorld update() {
+        this.game.world().update(timeShift);
+        return this.game.world();
+    }
+
+}
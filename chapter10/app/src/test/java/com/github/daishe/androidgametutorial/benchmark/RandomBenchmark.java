@@ -0,0 +1,43 @@
+package com.github.daishe.androidgametutorial.benchmark;
+
+import com.github.daishe.androidgametutorial.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class RandomBenchmark {
+
+    // Smaller limits reject more samples
+    @Param({"1", "2", "3", "8"})
+    public float limit;
+
+    private Random random;
+
+    @Setup
+    public void setup() {
+        this.random = new Random();
+        this.random.create(42);
+    }
+
+    @Benchmark
+    public float gaussian() {
+        return this.random.gaussian();
+    }
+
+    @Benchmark
+    public float gaussianLimited() {
+        return this.random.gaussian(this.limit);
+    }
+
+}
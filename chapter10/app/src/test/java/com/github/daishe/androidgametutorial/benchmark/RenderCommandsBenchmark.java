@@ -0,0 +1,66 @@
+package com.github.daishe.androidgametutorial.benchmark;
+
+import com.github.daishe.androidgametutorial.RenderCommands;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Recording and sorting a frame worth of commands, run with -prof gc to see that neither allocates
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RenderCommandsBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int commands;
+
+    private RenderCommands renderCommands;
+    private int[] images;
+    private float[] positions;
+
+    @Setup
+    public void setup() {
+        java.util.Random random = new java.util.Random(42);
+        this.images = new int[this.commands];
+        this.positions = new float[this.commands];
+        for (int i = 0; i < this.commands; ++i) {
+            this.images[i] = random.nextInt(12);
+            this.positions[i] = random.nextFloat() * 1000f;
+        }
+
+        this.renderCommands = new RenderCommands(this.commands);
+    }
+
+    @Benchmark
+    public RenderCommands record() {
+        this.renderCommands.clear();
+        this.fill();
+        return this.renderCommands;
+    }
+
+    @Benchmark
+    public int recordAndSort() {
+        this.renderCommands.clear();
+        this.fill();
+        this.renderCommands.sort();
+        return this.renderCommands.sorted(0);
+    }
+
+    private void fill() {
+        for (int i = 0; i < this.commands; ++i) {
+            if (i % 10 == 0)
+                this.renderCommands.circle(this.positions[i], -this.positions[i], 10f, 0.5f, 0xFFFF0000);
+            else
+                this.renderCommands.sprite(this.images[i], this.positions[i], -this.positions[i], 1f, 0.25f, 1f);
+        }
+    }
+
+}
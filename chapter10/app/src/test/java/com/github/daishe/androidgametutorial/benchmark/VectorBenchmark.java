@@ -0,0 +1,72 @@
+package com.github.daishe.androidgametutorial.benchmark;
+
+import com.github.daishe.androidgametutorial.MutableVector2D;
+import com.github.daishe.androidgametutorial.Vector2D;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class VectorBenchmark {
+
+    private MutableVector2D a;
+    private MutableVector2D b;
+    private MutableVector2D target;
+
+    @Setup
+    public void setup() {
+        this.a = Vector2D.fromCartesian(3.5f, -7.25f);
+        this.b = Vector2D.fromCartesian(-120f, 48f);
+        this.target = Vector2D.fromNothing();
+    }
+
+    @Benchmark
+    public Vector2D add() {
+        return this.a.add(this.b);
+    }
+
+    @Benchmark
+    public Vector2D addInPlace() {
+        return this.target.setTo(this.a).addInPlace(this.b);
+    }
+
+    @Benchmark
+    public Vector2D mul() {
+        return this.b.mul(0.033f);
+    }
+
+    @Benchmark
+    public Vector2D normalize() {
+        return this.b.normalize();
+    }
+
+    @Benchmark
+    public Vector2D normalizeInPlace() {
+        return this.target.setTo(this.b).normalizeInPlace();
+    }
+
+    @Benchmark
+    public Vector2D limitInPlaceLimited() {
+        return this.target.setTo(this.b).limitInPlace(100f);
+    }
+
+    @Benchmark
+    public Vector2D limitInPlaceUnlimited() {
+        return this.target.setTo(this.a).limitInPlace(100f);
+    }
+
+    @Benchmark
+    public float theta() {
+        return this.b.theta();
+    }
+
+}